@@ -0,0 +1,29 @@
+package com.yourcompany.weirdopinions.benchmark;
+
+import com.yourcompany.weirdopinions.service.UserService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Name generation runs on every sign-up and regenerate; it draws from a SecureRandom shared by all threads
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnonymousNameBenchmark {
+
+    private final UserService userService = new UserService();
+
+    @Benchmark
+    public String generateAnonymousName() {
+        return userService.generateAnonymousName();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateAnonymousNameContended() {
+        return userService.generateAnonymousName();
+    }
+}
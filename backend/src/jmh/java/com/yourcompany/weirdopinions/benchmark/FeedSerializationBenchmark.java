@@ -0,0 +1,54 @@
+package com.yourcompany.weirdopinions.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.yourcompany.weirdopinions.dto.CursorPage;
+import com.yourcompany.weirdopinions.dto.FeedCursor;
+import com.yourcompany.weirdopinions.dto.QuestionSummary;
+import com.yourcompany.weirdopinions.model.Category;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON encoding of one feed page, configured like the ObjectMapper Spring Boot gives the controllers
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeedSerializationBenchmark {
+
+    @Param({"10", "50"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private CursorPage<QuestionSummary> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        Category[] categories = Category.values();
+        Instant now = Instant.now();
+        List<QuestionSummary> rows = new ArrayList<>();
+        for (int i = 0; i <= pageSize; i++) {
+            rows.add(new QuestionSummary((long) (1_000_000 - i), "Is it weird to put ketchup on pancakes? #" + i,
+                    "A description long enough to be cut down to a snippet. ".repeat(6),
+                    categories[i % categories.length], i % 4 == 0 ? "https://example.com/image" + i + ".png" : null,
+                    "Curious Otter " + i, i % 5 == 0, 120 + i, 30 + i, 12L + i, now.minusSeconds(60L * i)));
+        }
+        page = CursorPage.of(rows, pageSize, summary -> new FeedCursor(summary.getCreatedAt(), summary.getId()));
+    }
+
+    @Benchmark
+    public byte[] serializeFeedPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
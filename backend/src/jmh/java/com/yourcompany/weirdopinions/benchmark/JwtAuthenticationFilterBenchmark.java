@@ -0,0 +1,81 @@
+package com.yourcompany.weirdopinions.benchmark;
+
+import com.yourcompany.weirdopinions.security.JwtAuthenticationFilter;
+import com.yourcompany.weirdopinions.security.JwtTokenProvider;
+import com.yourcompany.weirdopinions.security.RateLimitFilter;
+import com.yourcompany.weirdopinions.service.CustomUserDetailsService;
+import com.yourcompany.weirdopinions.service.CustomUserDetailsService.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One authenticated request through JwtAuthenticationFilter: bearer extraction, token verification and
+// setting the security context. "hit" finds the token in the verified-token cache; "miss" has no cache, so
+// every request parses and HMAC-checks the token. The principal lookup is stubbed (it has its own cache).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "weirdOpinionsSecretKeyForHs256Signing!";
+
+    @Param({"hit", "miss"})
+    public String cache;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 86_400_000);
+        ReflectionTestUtils.setField(tokenProvider, "jwtCacheSize", cache.equals("hit") ? 10_000 : 0);
+        ReflectionTestUtils.setField(tokenProvider, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(tokenProvider, "init");
+
+        UserPrincipal principal = new UserPrincipal(1L, "benchmark", "benchmark@example.com", "unused",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        // A plain override rather than a Mockito stub, whose invocation bookkeeping would dominate the hit case
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService() {
+            @Override
+            public UserDetails loadUserByUsername(String usernameOrEmail) {
+                return principal;
+            }
+        };
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "tokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(filter, "customUserDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "rateLimitFilter", new RateLimitFilter());
+
+        String token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        request = new MockHttpServletRequest("GET", "/api/questions/my-votes");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        filter.doFilter(request, response, chain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
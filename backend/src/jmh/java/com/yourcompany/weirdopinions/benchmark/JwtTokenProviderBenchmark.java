@@ -0,0 +1,64 @@
+package com.yourcompany.weirdopinions.benchmark;
+
+import com.yourcompany.weirdopinions.security.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Token issue and per-request verification. The uncached provider parses and HMAC-checks on every call,
+// which is what each authenticated request paid before verified tokens were cached.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "weirdOpinionsSecretKeyForHs256Signing!";
+
+    private JwtTokenProvider cached;
+    private JwtTokenProvider uncached;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = provider(10_000);
+        uncached = provider(0);
+        authentication = new UsernamePasswordAuthenticationToken(
+                User.withUsername("benchmark").password("unused").roles("USER").build(), null);
+        token = cached.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cached.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cached.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncached.validateToken(token);
+    }
+
+    // A cache size of zero never stores a verified token
+    private static JwtTokenProvider provider(int cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", 86_400_000);
+        ReflectionTestUtils.setField(provider, "jwtCacheSize", cacheSize);
+        ReflectionTestUtils.setField(provider, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(provider, "init");
+        return provider;
+    }
+}
@@ -0,0 +1,57 @@
+package com.yourcompany.weirdopinions.benchmark;
+
+import com.yourcompany.weirdopinions.security.BoundedPasswordEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// BCrypt hashes per second with every core busy, directly and through the bounded pool the app uses.
+// Divide by the core count for hashes/sec per core when sizing app.passwords.threads and the login rate.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(Threads.MAX)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"10", "12"})
+    public int strength;
+
+    private BCryptPasswordEncoder bcrypt;
+    private BoundedPasswordEncoder bounded;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        bcrypt = new BCryptPasswordEncoder(strength);
+        int cores = Runtime.getRuntime().availableProcessors();
+        // Queue deep enough for every benchmark thread, so nothing is rejected
+        bounded = new BoundedPasswordEncoder(bcrypt, cores, 4 * cores, TimeUnit.MINUTES.toMillis(1));
+        hash = bcrypt.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        bounded.shutdown();
+    }
+
+    @Benchmark
+    public String encode() {
+        return bcrypt.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return bcrypt.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public boolean matchesBounded() {
+        return bounded.matches(PASSWORD, hash);
+    }
+}
@@ -0,0 +1,74 @@
+package com.yourcompany.weirdopinions.benchmark;
+
+import com.yourcompany.weirdopinions.dto.PollResults;
+import com.yourcompany.weirdopinions.event.QuestionActivityEvent;
+import com.yourcompany.weirdopinions.repository.PollOptionRow;
+import com.yourcompany.weirdopinions.repository.PollVoteRepository;
+import com.yourcompany.weirdopinions.repository.QuestionRepository;
+import com.yourcompany.weirdopinions.service.PollTallyService;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Many voters moving votes between the options of one poll while a reader polls the live results, the
+// contention pattern of a viral poll. The repositories are stubbed; only the in-memory tally is measured.
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PollTallyBenchmark {
+
+    private static final Long QUESTION_ID = 1L;
+    private static final int OPTIONS = 4;
+
+    private PollTallyService pollTallyService;
+
+    @Setup
+    public void setUp() {
+        List<PollOptionRow> rows = new ArrayList<>();
+        for (int i = 0; i < OPTIONS; i++) {
+            String text = "Option " + i;
+            rows.add(new PollOptionRow() {
+                public Long getQuestionId() { return QUESTION_ID; }
+                public String getOptionText() { return text; }
+            });
+        }
+        QuestionRepository questionRepository = Mockito.mock(QuestionRepository.class);
+        Mockito.when(questionRepository.findPollOptionRows(ArgumentMatchers.anyCollection())).thenReturn(rows);
+        PollVoteRepository pollVoteRepository = Mockito.mock(PollVoteRepository.class);
+        Mockito.when(pollVoteRepository.countVotesByOption(ArgumentMatchers.anyLong())).thenReturn(List.of());
+
+        pollTallyService = new PollTallyService();
+        ReflectionTestUtils.setField(pollTallyService, "questionRepository", questionRepository);
+        ReflectionTestUtils.setField(pollTallyService, "pollVoteRepository", pollVoteRepository);
+        ReflectionTestUtils.setField(pollTallyService, "tallyTtlMs", TimeUnit.DAYS.toMillis(1));
+        ReflectionTestUtils.setField(pollTallyService, "maxTallies", 1000);
+        ReflectionTestUtils.invokeMethod(pollTallyService, "init");
+        pollTallyService.getResults(QUESTION_ID);
+    }
+
+    @Benchmark
+    @Group("viralPoll")
+    @GroupThreads(7)
+    public void vote() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int previous = random.nextInt(-1, OPTIONS);
+        pollTallyService.onQuestionActivity(QuestionActivityEvent.pollVoted(
+                QUESTION_ID, null, random.nextInt(OPTIONS), previous));
+    }
+
+    @Benchmark
+    @Group("viralPoll")
+    @GroupThreads(1)
+    public PollResults readResults() {
+        return pollTallyService.getResults(QUESTION_ID);
+    }
+}
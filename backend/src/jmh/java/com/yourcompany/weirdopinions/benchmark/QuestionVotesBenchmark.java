@@ -0,0 +1,54 @@
+package com.yourcompany.weirdopinions.benchmark;
+
+import com.yourcompany.weirdopinions.model.Question;
+import com.yourcompany.weirdopinions.model.User;
+import com.yourcompany.weirdopinions.model.Vote;
+import com.yourcompany.weirdopinions.model.VoteType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Question.getUpvotes reads the denormalized counter; countFromVotes is the old implementation that
+// streamed the whole votes collection, kept here to show how that cost grows with the vote count.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuestionVotesBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int voteCount;
+
+    private Question question;
+
+    @Setup
+    public void setUp() {
+        question = new Question("Benchmark", "Votes", null, null);
+        Set<Vote> votes = new HashSet<>();
+        int upvotes = 0;
+        for (int i = 0; i < voteCount; i++) {
+            VoteType type = i % 3 == 0 ? VoteType.DOWNVOTE : VoteType.UPVOTE;
+            votes.add(new Vote(type, new User("voter" + i, "voter" + i + "@example.com", "unused"), question));
+            if (type == VoteType.UPVOTE) {
+                upvotes++;
+            }
+        }
+        question.setVotes(votes);
+        question.setUpvoteCount(upvotes);
+        question.setDownvoteCount(voteCount - upvotes);
+    }
+
+    @Benchmark
+    public int getUpvotes() {
+        return question.getUpvotes();
+    }
+
+    @Benchmark
+    public long countFromVotes() {
+        return question.getVotes().stream().filter(vote -> vote.getVoteType() == VoteType.UPVOTE).count();
+    }
+}
@@ -0,0 +1,63 @@
+package com.yourcompany.weirdopinions.benchmark;
+
+import com.yourcompany.weirdopinions.security.RateLimitFilter;
+import com.yourcompany.weirdopinions.security.TokenBucketLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// The per-request cost of rate limiting: classifying the route and taking a token. The limits are set high
+// enough that every call is admitted, so the CAS path is measured rather than rejections. "Hot key" has all
+// threads on one bucket (one busy client); "spread keys" picks among many tracked clients.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int KEYS = 10_000;
+
+    private static final String[][] REQUESTS = {
+            {"GET", "/api/questions/feed"},
+            {"GET", "/api/questions/42"},
+            {"POST", "/api/questions/42/vote"},
+            {"GET", "/api/questions/search"},
+            {"POST", "/api/auth/signin"},
+            {"GET", "/actuator/prometheus"},
+    };
+
+    private TokenBucketLimiter limiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        limiter = new TokenBucketLimiter(Integer.MAX_VALUE, 1e9, KEYS * 2);
+        keys = new String[KEYS];
+        long now = System.nanoTime();
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "10.0." + (i >> 8) + "." + (i & 0xff);
+            limiter.tryAcquire(keys[i], now);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long tryAcquireHotKey() {
+        return limiter.tryAcquire(keys[0], System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long tryAcquireSpreadKeys() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEYS)], System.nanoTime());
+    }
+
+    @Benchmark
+    public RateLimitFilter.Group groupOf() {
+        String[] request = REQUESTS[ThreadLocalRandom.current().nextInt(REQUESTS.length)];
+        return RateLimitFilter.groupOf(request[0], request[1]);
+    }
+}
@@ -0,0 +1,84 @@
+package com.yourcompany.weirdopinions.benchmark;
+
+import com.yourcompany.weirdopinions.WeirdOpinionsApplication;
+import com.yourcompany.weirdopinions.model.Category;
+import com.yourcompany.weirdopinions.model.User;
+import com.yourcompany.weirdopinions.model.VoteType;
+import com.yourcompany.weirdopinions.service.QuestionService;
+import com.yourcompany.weirdopinions.service.UserService;
+import com.yourcompany.weirdopinions.service.VoteWriteBehindService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Votes per second on one hot question against the full application context and an in-memory H2,
+// through the synchronous path or the write-behind queue (FLUSH ack, so each call waits for its commit).
+// Every voter toggles its own upvote, alternating an insert and a delete.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(16)
+public class VoteOnQuestionBenchmark {
+
+    @Param({"sync", "writeBehind"})
+    public String path;
+
+    private ConfigurableApplicationContext context;
+    private QuestionService questionService;
+    private UserService userService;
+    private VoteWriteBehindService voteWriteBehindService;
+    private Long questionId;
+    private final AtomicInteger voters = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void start() {
+        SpringApplication application = new SpringApplication(WeirdOpinionsApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+                "--spring.datasource.url=jdbc:h2:mem:jmh-votes-" + path + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--app.passwords.bcryptStrength=4",
+                "--app.votes.writeBehind.enabled=" + path.equals("writeBehind"),
+                "--app.votes.writeBehind.ackMode=FLUSH",
+                "--app.votes.writeBehind.flushIntervalMs=10");
+        questionService = context.getBean(QuestionService.class);
+        userService = context.getBean(UserService.class);
+        voteWriteBehindService = context.getBean(VoteWriteBehindService.class);
+        User author = userService.createUser("jmh-author", "jmh-author@example.com", "password");
+        questionId = questionService.createQuestion("Benchmark question", "Hot question for vote benchmarks",
+                Category.values()[0], null, null, author).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Voter {
+        private User user;
+
+        @Setup(Level.Trial)
+        public void register(VoteOnQuestionBenchmark benchmark) {
+            int n = benchmark.voters.incrementAndGet();
+            user = benchmark.userService.createUser("jmh-voter-" + n, "jmh-voter-" + n + "@example.com", "password");
+        }
+    }
+
+    @Benchmark
+    public void vote(Voter voter) {
+        if (voteWriteBehindService.isEnabled()) {
+            voteWriteBehindService.submitQuestionVote(voter.user.getId(), questionId, VoteType.UPVOTE);
+        } else {
+            questionService.voteOnQuestion(questionId, VoteType.UPVOTE, voter.user);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.yourcompany.weirdopinions.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// --name=value command line options with defaults
+final class Args {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    private Args() {}
+
+    static Args parse(String[] argv) {
+        Args args = new Args();
+        for (String arg : argv) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                args.values.put(arg.substring(2), "true");
+            } else {
+                args.values.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return args;
+    }
+
+    String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    int getInt(String name, int defaultValue) {
+        String value = values.get(name);
+        return value != null ? Integer.parseInt(value.replace("_", "")) : defaultValue;
+    }
+
+    long getLong(String name, long defaultValue) {
+        String value = values.get(name);
+        return value != null ? Long.parseLong(value.replace("_", "")) : defaultValue;
+    }
+
+    double getDouble(String name, double defaultValue) {
+        String value = values.get(name);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+}
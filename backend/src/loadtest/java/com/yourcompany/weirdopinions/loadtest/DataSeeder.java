@@ -0,0 +1,492 @@
+package com.yourcompany.weirdopinions.loadtest;
+
+import com.yourcompany.weirdopinions.model.Category;
+import org.flywaydb.core.Flyway;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Fills an empty database with a reproducible synthetic data set through the Flyway schema, using plain
+// JDBC batches with explicit ids. Question popularity is Zipf-distributed (a few questions take most votes
+// and comments, the long tail takes almost none), as is authorship across users. Everything derives from
+// --seed, so two runs with the same arguments produce the same rows.
+//
+// Rows go in per question, in foreign key order, and every denormalized counter (vote counts, reply counts)
+// is computed before its row is written, so the data is consistent without a fix-up pass. All users share
+// the password given by --userPassword (one BCrypt hash, computed once); usernames are user1..userN.
+//
+// For PostgreSQL add reWriteBatchedInserts=true to the URL; it turns each batch into multi-row INSERTs.
+public class DataSeeder {
+
+    private final Args args;
+    private final Random random;
+
+    private final int users;
+    private final int questions;
+    private final long comments;
+    private final long questionVotes;
+    private final long commentVotes;
+    private final long pollVotes;
+    private final double pollRatio;
+    private final double replyRatio;
+    private final int maxDepth;
+    private final int batchSize;
+    private final Instant start;
+    private final Duration span;
+
+    private ZipfDistribution questionPopularity;
+    private int[] questionRankById;
+    private ZipfDistribution authorPopularity;
+    private int[] authorByRank;
+    private boolean[] hasPoll;
+    private double pollPopularityTotal;
+
+    private long nextCommentId = 1;
+    private long nextVoteId = 1;
+    private long nextPollVoteId = 1;
+
+    public static void main(String[] argv) throws SQLException {
+        new DataSeeder(Args.parse(argv)).run();
+    }
+
+    DataSeeder(Args args) {
+        this.args = args;
+        this.random = new Random(args.getLong("seed", 42));
+        this.users = args.getInt("users", 100_000);
+        this.questions = args.getInt("questions", 20_000);
+        this.comments = args.getLong("comments", 200_000);
+        long votes = args.getLong("votes", 1_000_000);
+        this.commentVotes = Math.round(votes * args.getDouble("commentVoteShare", 0.3));
+        this.questionVotes = votes - commentVotes;
+        this.pollVotes = args.getLong("pollVotes", 200_000);
+        this.pollRatio = args.getDouble("pollRatio", 0.25);
+        this.replyRatio = args.getDouble("replyRatio", 0.4);
+        this.maxDepth = args.getInt("maxDepth", 8);
+        this.batchSize = args.getInt("batchSize", 5_000);
+        this.span = Duration.ofDays(args.getInt("days", 90));
+        this.start = Instant.now().minus(span);
+    }
+
+    void run() throws SQLException {
+        String url = args.get("url",
+                "jdbc:h2:file:./data/weirdopinionsdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;AUTO_SERVER=TRUE");
+        String user = args.get("user", "sa");
+        String password = args.get("password", "password");
+
+        Flyway.configure().dataSource(url, user, password).load().migrate();
+
+        long started = System.currentTimeMillis();
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            if (count(connection, "users") > 0) {
+                throw new IllegalStateException("Refusing to seed a database that already has users");
+            }
+            plan();
+            seedUsers(connection);
+            seedQuestions(connection);
+            restartIdentities(connection);
+        }
+        System.out.printf("Seeded %d users, %d questions, %d comments, %d votes, %d poll votes in %d s%n",
+                users, questions, nextCommentId - 1, nextVoteId - 1, nextPollVoteId - 1,
+                (System.currentTimeMillis() - started) / 1000);
+    }
+
+    // Popularity ranks are shuffled onto ids, so hot questions are spread through the table and the feed.
+    // The permutation is the first thing drawn from the seed; LoadDriver replays it to find the hot ids.
+    private void plan() {
+        questionPopularity = new ZipfDistribution(questions, args.getDouble("zipf", 1.1));
+        int[] questionIdByRank = ZipfDistribution.shuffledIds(questions, random);
+        questionRankById = new int[questions + 1];
+        for (int rank = 0; rank < questions; rank++) {
+            questionRankById[questionIdByRank[rank]] = rank;
+        }
+
+        authorPopularity = new ZipfDistribution(users, args.getDouble("authorZipf", 0.8));
+        authorByRank = ZipfDistribution.shuffledIds(users, random);
+
+        hasPoll = new boolean[questions + 1];
+        for (int id = 1; id <= questions; id++) {
+            hasPoll[id] = random.nextDouble() < pollRatio;
+            if (hasPoll[id]) {
+                pollPopularityTotal += questionPopularity.probability(questionRankById[id]);
+            }
+        }
+    }
+
+    private void seedUsers(Connection connection) throws SQLException {
+        String hash = new BCryptPasswordEncoder().encode(args.get("userPassword", "password"));
+        try (PreparedStatement insertUser = connection.prepareStatement(
+                "INSERT INTO users (id, username, email, password, anonymous_name, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement insertRole = connection.prepareStatement(
+                     "INSERT INTO user_roles (user_id, roles) VALUES (?, 'ROLE_USER')")) {
+            Batches batches = new Batches(connection, batchSize, insertUser, insertRole);
+            for (int id = 1; id <= users; id++) {
+                Timestamp createdAt = at(start.minus(span).plus(scale(span, id, users)));
+                insertUser.setLong(1, id);
+                insertUser.setString(2, "user" + id);
+                insertUser.setString(3, "user" + id + "@example.com");
+                insertUser.setString(4, hash);
+                insertUser.setString(5, SeedVocabulary.anonymousName(random));
+                insertUser.setTimestamp(6, createdAt);
+                insertUser.setTimestamp(7, createdAt);
+                batches.add(insertUser);
+
+                insertRole.setLong(1, id);
+                batches.add(insertRole);
+            }
+            batches.commit();
+        }
+        System.out.printf("Users done%n");
+    }
+
+    private void seedQuestions(Connection connection) throws SQLException {
+        Category[] categories = Category.values();
+        try (PreparedStatement insertQuestion = connection.prepareStatement(
+                "INSERT INTO questions (id, title, description, category, user_id, has_poll, upvote_count, "
+                        + "downvote_count, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement insertOption = connection.prepareStatement(
+                     "INSERT INTO poll_options (question_id, option_text) VALUES (?, ?)");
+             PreparedStatement insertComment = connection.prepareStatement(
+                     "INSERT INTO comments (id, content, user_id, question_id, parent_comment_id, root_comment_id, "
+                             + "depth, reply_count, upvote_count, downvote_count, created_at, updated_at) "
+                             + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement insertVote = connection.prepareStatement(
+                     "INSERT INTO votes (id, vote_type, user_id, question_id, comment_id, created_at) "
+                             + "VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement insertPollVote = connection.prepareStatement(
+                     "INSERT INTO poll_votes (id, option_index, user_id, question_id, created_at) "
+                             + "VALUES (?, ?, ?, ?, ?)")) {
+            Batches batches = new Batches(connection, batchSize,
+                    insertQuestion, insertOption, insertComment, insertVote, insertPollVote);
+            int reportEvery = Math.max(questions / 20, 1);
+
+            for (int id = 1; id <= questions; id++) {
+                double popularity = questionPopularity.probability(questionRankById[id]);
+                Instant createdAt = start.plus(scale(span, id - 1, questions));
+                Instant now = Instant.now();
+
+                // Question votes, decided first so the row carries its final counters
+                int voters = (int) Math.min(round(questionVotes * popularity), users);
+                Voters questionVoters = new Voters(voters);
+                boolean[] upvotes = new boolean[voters];
+                int up = 0;
+                double upShare = 0.5 + 0.45 * random.nextDouble();
+                for (int k = 0; k < voters; k++) {
+                    upvotes[k] = random.nextDouble() < upShare;
+                    if (upvotes[k]) {
+                        up++;
+                    }
+                }
+
+                insertQuestion.setLong(1, id);
+                insertQuestion.setString(2, SeedVocabulary.title(random));
+                insertQuestion.setString(3, SeedVocabulary.description(random));
+                insertQuestion.setString(4, categories[id % categories.length].name());
+                insertQuestion.setLong(5, authorByRank[authorPopularity.sample(random)]);
+                insertQuestion.setBoolean(6, hasPoll[id]);
+                insertQuestion.setInt(7, up);
+                insertQuestion.setInt(8, voters - up);
+                insertQuestion.setTimestamp(9, at(createdAt));
+                insertQuestion.setTimestamp(10, at(createdAt));
+                batches.add(insertQuestion);
+
+                int options = 0;
+                if (hasPoll[id]) {
+                    options = 2 + random.nextInt(4);
+                    for (int option = 0; option < options; option++) {
+                        insertOption.setLong(1, id);
+                        insertOption.setString(2, SeedVocabulary.pick(SeedVocabulary.NOUNS, random));
+                        batches.add(insertOption);
+                    }
+                }
+
+                ThreadPlan thread = planThread(popularity, createdAt, now);
+                for (int c = 0; c < thread.size(); c++) {
+                    insertComment.setLong(1, thread.firstId + c);
+                    insertComment.setString(2, SeedVocabulary.comment(random));
+                    insertComment.setLong(3, authorByRank[authorPopularity.sample(random)]);
+                    insertComment.setLong(4, id);
+                    setNullableLong(insertComment, 5, thread.parent.get(c));
+                    setNullableLong(insertComment, 6, thread.root.get(c));
+                    insertComment.setInt(7, thread.depth.get(c));
+                    insertComment.setInt(8, thread.replies[c]);
+                    insertComment.setInt(9, thread.upvotes[c]);
+                    insertComment.setInt(10, thread.downvotes[c]);
+                    insertComment.setTimestamp(11, at(thread.createdAt.get(c)));
+                    insertComment.setTimestamp(12, at(thread.createdAt.get(c)));
+                    batches.add(insertComment);
+                }
+
+                for (int k = 0; k < voters; k++) {
+                    insertVote.setLong(1, nextVoteId++);
+                    insertVote.setString(2, upvotes[k] ? "UPVOTE" : "DOWNVOTE");
+                    insertVote.setLong(3, questionVoters.user(k));
+                    insertVote.setLong(4, id);
+                    insertVote.setNull(5, Types.BIGINT);
+                    insertVote.setTimestamp(6, at(between(createdAt, now)));
+                    batches.add(insertVote);
+                }
+                for (int c = 0; c < thread.size(); c++) {
+                    Voters commentVoters = new Voters(thread.upvotes[c] + thread.downvotes[c]);
+                    for (int k = 0; k < commentVoters.count; k++) {
+                        insertVote.setLong(1, nextVoteId++);
+                        insertVote.setString(2, k < thread.upvotes[c] ? "UPVOTE" : "DOWNVOTE");
+                        insertVote.setLong(3, commentVoters.user(k));
+                        insertVote.setNull(4, Types.BIGINT);
+                        insertVote.setLong(5, thread.firstId + c);
+                        insertVote.setTimestamp(6, at(between(thread.createdAt.get(c), now)));
+                        batches.add(insertVote);
+                    }
+                }
+
+                if (hasPoll[id]) {
+                    int pollVoters = (int) Math.min(round(pollVotes * popularity / pollPopularityTotal), users);
+                    Voters voterWalk = new Voters(pollVoters);
+                    for (int k = 0; k < pollVoters; k++) {
+                        insertPollVote.setLong(1, nextPollVoteId++);
+                        insertPollVote.setInt(2, skewedOption(options));
+                        insertPollVote.setLong(3, voterWalk.user(k));
+                        insertPollVote.setLong(4, id);
+                        insertPollVote.setTimestamp(5, at(between(createdAt, now)));
+                        batches.add(insertPollVote);
+                    }
+                }
+
+                // Commit on question boundaries once enough rows are pending, so a transaction never holds
+                // a question without its children
+                if (batches.pending() >= batchSize) {
+                    batches.commit();
+                }
+                if (id % reportEvery == 0) {
+                    System.out.printf("Questions %d/%d%n", id, questions);
+                }
+            }
+            batches.commit();
+        }
+    }
+
+    // Comments for one question: each is a top-level comment or, with replyRatio, a reply to an earlier
+    // comment of the same question. Comment votes are spread the same way, favouring early comments.
+    private ThreadPlan planThread(double popularity, Instant questionCreatedAt, Instant now) {
+        int count = (int) round(comments * popularity);
+        ThreadPlan thread = new ThreadPlan(nextCommentId, count);
+        nextCommentId += count;
+
+        for (int c = 0; c < count; c++) {
+            if (c > 0 && random.nextDouble() < replyRatio) {
+                int parent = random.nextInt(c);
+                if (thread.depth.get(parent) < maxDepth) {
+                    thread.replies[parent]++;
+                    Long root = thread.root.get(parent);
+                    thread.parent.add(thread.firstId + parent);
+                    thread.root.add(root != null ? root : thread.firstId + parent);
+                    thread.depth.add(thread.depth.get(parent) + 1);
+                    thread.createdAt.add(between(thread.createdAt.get(parent), now));
+                    continue;
+                }
+            }
+            thread.parent.add(null);
+            thread.root.add(null);
+            thread.depth.add(0);
+            thread.createdAt.add(between(questionCreatedAt, now));
+        }
+
+        long votes = round(commentVotes * popularity);
+        for (long v = 0; v < votes && count > 0; v++) {
+            // The minimum of two uniform picks favours lower indexes, i.e. older comments
+            int c = Math.min(random.nextInt(count), random.nextInt(count));
+            if (thread.upvotes[c] + thread.downvotes[c] >= users) {
+                continue;
+            }
+            if (random.nextDouble() < 0.75) {
+                thread.upvotes[c]++;
+            } else {
+                thread.downvotes[c]++;
+            }
+        }
+        return thread;
+    }
+
+    // Earlier options are more popular, roughly 1/(i + 1)
+    private int skewedOption(int options) {
+        double total = 0;
+        for (int i = 0; i < options; i++) {
+            total += 1.0 / (i + 1);
+        }
+        double u = random.nextDouble() * total;
+        for (int i = 0; i < options; i++) {
+            u -= 1.0 / (i + 1);
+            if (u <= 0) {
+                return i;
+            }
+        }
+        return options - 1;
+    }
+
+    // Ids continue after the seeded rows, so the application can insert normally
+    private void restartIdentities(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE users ALTER COLUMN id RESTART WITH " + (users + 1));
+            statement.execute("ALTER TABLE questions ALTER COLUMN id RESTART WITH " + (questions + 1));
+            statement.execute("ALTER TABLE comments ALTER COLUMN id RESTART WITH " + nextCommentId);
+            statement.execute("ALTER TABLE votes ALTER COLUMN id RESTART WITH " + nextVoteId);
+            statement.execute("ALTER TABLE poll_votes ALTER COLUMN id RESTART WITH " + nextPollVoteId);
+        }
+        connection.commit();
+    }
+
+    // Rounds fractional expectations up or down at random, so the totals come out right on average
+    private long round(double expected) {
+        long whole = (long) expected;
+        return whole + (random.nextDouble() < expected - whole ? 1 : 0);
+    }
+
+    private Instant between(Instant from, Instant to) {
+        long range = Math.max(to.toEpochMilli() - from.toEpochMilli(), 1);
+        return from.plusMillis((long) (random.nextDouble() * range));
+    }
+
+    private static Duration scale(Duration span, long index, long total) {
+        return Duration.ofMillis((long) ((double) span.toMillis() * index / Math.max(total, 1)));
+    }
+
+    private static Timestamp at(Instant instant) {
+        return Timestamp.from(instant);
+    }
+
+    private static void setNullableLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.BIGINT);
+        } else {
+            statement.setLong(index, value);
+        }
+    }
+
+    private static long count(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    // Distinct users for one target: an affine walk (offset + k * stride) mod users with a stride coprime
+    // to users visits every user exactly once, so no (user, target) pair repeats and nothing is stored
+    private class Voters {
+        private final int count;
+        private final long offset;
+        private final long stride;
+
+        Voters(int count) {
+            this.count = count;
+            this.offset = random.nextInt(users);
+            long candidate = 1 + random.nextInt(Math.max(users - 1, 1));
+            while (gcd(candidate, users) != 1) {
+                candidate++;
+            }
+            this.stride = candidate;
+        }
+
+        long user(int k) {
+            return (offset + k * stride) % users + 1;
+        }
+
+        private long gcd(long a, long b) {
+            return b == 0 ? a : gcd(b, a % b);
+        }
+    }
+
+    private static class ThreadPlan {
+        private final long firstId;
+        private final List<Long> parent;
+        private final List<Long> root;
+        private final List<Integer> depth;
+        private final List<Instant> createdAt;
+        private final int[] replies;
+        private final int[] upvotes;
+        private final int[] downvotes;
+
+        ThreadPlan(long firstId, int count) {
+            this.firstId = firstId;
+            this.parent = new ArrayList<>(count);
+            this.root = new ArrayList<>(count);
+            this.depth = new ArrayList<>(count);
+            this.createdAt = new ArrayList<>(count);
+            this.replies = new int[count];
+            this.upvotes = new int[count];
+            this.downvotes = new int[count];
+        }
+
+        int size() {
+            return replies.length;
+        }
+    }
+
+    // JDBC batches executed in the order given, which must be foreign key order: when one statement's
+    // batch fills up, every statement before it is flushed first so referenced rows always exist
+    private static class Batches {
+        private final Connection connection;
+        private final int batchSize;
+        private final PreparedStatement[] statements;
+        private final int[] pending;
+
+        Batches(Connection connection, int batchSize, PreparedStatement... statements) {
+            this.connection = connection;
+            this.batchSize = batchSize;
+            this.statements = statements;
+            this.pending = new int[statements.length];
+        }
+
+        void add(PreparedStatement statement) throws SQLException {
+            statement.addBatch();
+            int index = indexOf(statement);
+            if (++pending[index] >= batchSize) {
+                flushThrough(index);
+            }
+        }
+
+        int pending() {
+            int total = 0;
+            for (int count : pending) {
+                total += count;
+            }
+            return total;
+        }
+
+        void commit() throws SQLException {
+            flushThrough(statements.length - 1);
+            connection.commit();
+        }
+
+        private void flushThrough(int last) throws SQLException {
+            for (int i = 0; i <= last; i++) {
+                if (pending[i] > 0) {
+                    statements[i].executeBatch();
+                    pending[i] = 0;
+                }
+            }
+        }
+
+        private int indexOf(PreparedStatement statement) {
+            for (int i = 0; i < statements.length; i++) {
+                if (statements[i] == statement) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("Unknown statement");
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.yourcompany.weirdopinions.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourcompany.weirdopinions.model.Category;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Closed-loop HTTP load against a running instance seeded by DataSeeder. Each worker signs in as a random
+// seeded user, then issues requests back to back, picking each one from the weighted --mix. Votes and
+// question reads target Zipf-chosen questions with the same skew as the seed data, so hot rows stay hot.
+// Requests in the warm-up window are not recorded; the report gives throughput and latency percentiles
+// per operation, measured from send to fully read body.
+public class LoadDriver {
+
+    enum Operation { FEED, CATEGORY_FEED, TRENDING, SEARCH, QUESTION, VOTE, SIGNIN }
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final int SIGNIN_ATTEMPTS = 10;
+
+    private final String baseUrl;
+    private final int threads;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int users;
+    private final int questions;
+    private final String userPassword;
+    private final long seed;
+    private final Map<Operation, Integer> mix;
+    private final int mixTotal;
+    private final ZipfDistribution questionPopularity;
+    private final int[] questionIdByRank;
+    private final HttpClient client;
+
+    public static void main(String[] argv) throws InterruptedException {
+        new LoadDriver(Args.parse(argv)).run();
+    }
+
+    LoadDriver(Args args) {
+        this.baseUrl = args.get("baseUrl", "http://localhost:8080");
+        this.threads = args.getInt("threads", 32);
+        this.warmup = Duration.ofSeconds(args.getInt("warmupSeconds", 30));
+        this.duration = Duration.ofSeconds(args.getInt("durationSeconds", 120));
+        this.users = args.getInt("users", 100_000);
+        this.questions = args.getInt("questions", 20_000);
+        this.userPassword = args.get("userPassword", "password");
+        this.seed = args.getLong("seed", 7);
+        this.mix = parseMix(args.get("mix", "feed:40,categoryFeed:10,trending:10,search:10,question:15,vote:13,signin:2"));
+        this.mixTotal = mix.values().stream().mapToInt(Integer::intValue).sum();
+        // Same exponent and permutation seed as DataSeeder, so the driver's hot questions are the seeded ones
+        this.questionPopularity = new ZipfDistribution(questions, args.getDouble("zipf", 1.1));
+        this.questionIdByRank = ZipfDistribution.shuffledIds(questions, new Random(args.getLong("dataSeed", 42)));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    void run() throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+
+        List<Worker> workers = new ArrayList<>();
+        List<Thread> running = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Worker worker = new Worker(new Random(seed + i), measureFrom, stopAt);
+            Thread thread = new Thread(worker, "load-driver-" + i);
+            workers.add(worker);
+            running.add(thread);
+            thread.start();
+        }
+        System.out.printf("%d workers against %s: %d s warm-up, %d s measured%n",
+                threads, baseUrl, warmup.toSeconds(), duration.toSeconds());
+        for (Thread thread : running) {
+            thread.join();
+        }
+
+        Map<Operation, Stats> merged = new EnumMap<>(Operation.class);
+        for (Worker worker : workers) {
+            worker.stats.forEach((operation, stats) ->
+                    merged.computeIfAbsent(operation, ignored -> new Stats()).merge(stats));
+        }
+        report(merged);
+    }
+
+    private void report(Map<Operation, Stats> stats) {
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("%n%-14s %10s %9s %9s %9s %9s %9s %8s%n",
+                "operation", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        LatencyHistogram all = new LatencyHistogram();
+        long errors = 0;
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Stats operation = entry.getValue();
+            all.merge(operation.latency);
+            errors += operation.errors;
+            printRow(entry.getKey().name().toLowerCase(), operation.latency, operation.errors, seconds);
+        }
+        printRow("total", all, errors, seconds);
+    }
+
+    private static void printRow(String name, LatencyHistogram latency, long errors, double seconds) {
+        System.out.printf("%-14s %10d %9.1f %9.2f %9.2f %9.2f %9.2f %8d%n",
+                name, latency.getCount(), latency.getCount() / seconds,
+                latency.percentileMicros(0.50) / 1000.0, latency.percentileMicros(0.99) / 1000.0,
+                latency.percentileMicros(0.999) / 1000.0, latency.getMaxMicros() / 1000.0, errors);
+    }
+
+    // "feed:40,vote:13" -> weights; names are the operations in camelCase
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            String name = pair[0].replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase();
+            weights.put(Operation.valueOf(name), Integer.parseInt(pair[1]));
+        }
+        return weights;
+    }
+
+    private class Worker implements Runnable {
+        private final Random random;
+        private final long measureFrom;
+        private final long stopAt;
+        private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+
+        private String token;
+        private String nextCursor;
+
+        Worker(Random random, long measureFrom, long stopAt) {
+            this.random = random;
+            this.measureFrom = measureFrom;
+            this.stopAt = stopAt;
+        }
+
+        @Override
+        public void run() {
+            try {
+                token = signIn();
+            } catch (IOException | InterruptedException e) {
+                System.err.println("Sign-in failed, worker stopped: " + e.getMessage());
+                return;
+            }
+            long now;
+            while ((now = System.nanoTime()) < stopAt) {
+                Operation operation = pick();
+                HttpRequest request = build(operation);
+                int status;
+                try {
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    status = response.statusCode();
+                    afterResponse(operation, response);
+                } catch (IOException e) {
+                    status = -1;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long elapsed = System.nanoTime() - now;
+                if (now >= measureFrom) {
+                    Stats operationStats = stats.computeIfAbsent(operation, ignored -> new Stats());
+                    operationStats.latency.recordNanos(elapsed);
+                    if (status < 200 || status >= 400) {
+                        operationStats.errors++;
+                    }
+                }
+            }
+        }
+
+        private Operation pick() {
+            int ticket = random.nextInt(mixTotal);
+            for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+                ticket -= entry.getValue();
+                if (ticket < 0) {
+                    return entry.getKey();
+                }
+            }
+            throw new IllegalStateException("Empty mix");
+        }
+
+        private HttpRequest build(Operation operation) {
+            return switch (operation) {
+                // A third of feed reads scroll on from the previous page, the rest start at the top
+                case FEED -> get("/api/questions/feed?size=10"
+                        + (nextCursor != null && random.nextInt(3) == 0 ? "&cursor=" + encode(nextCursor) : ""));
+                case CATEGORY_FEED -> get("/api/questions/category/" + randomCategory().name() + "/feed?size=10");
+                case TRENDING -> get("/api/questions/trending");
+                case SEARCH -> get("/api/questions/search?q="
+                        + encode(SeedVocabulary.pick(SeedVocabulary.NOUNS, random)));
+                case QUESTION -> get("/api/questions/" + popularQuestion());
+                case VOTE -> post("/api/questions/" + popularQuestion() + "/vote",
+                        "{\"voteType\":\"" + (random.nextInt(4) == 0 ? "DOWNVOTE" : "UPVOTE") + "\"}", token);
+                case SIGNIN -> signInRequest();
+            };
+        }
+
+        private void afterResponse(Operation operation, HttpResponse<String> response) throws IOException {
+            if (operation == Operation.FEED && response.statusCode() == 200) {
+                JsonNode cursor = objectMapper.readTree(response.body()).get("nextCursor");
+                nextCursor = cursor == null || cursor.isNull() ? null : cursor.asText();
+            } else if (operation == Operation.SIGNIN && response.statusCode() == 200) {
+                token = objectMapper.readTree(response.body()).get("accessToken").asText();
+            }
+        }
+
+        // All workers sign in at once and the password encoder sheds the burst with 503 + Retry-After; back off
+        // and try again rather than losing the worker
+        private String signIn() throws IOException, InterruptedException {
+            HttpResponse<String> response = client.send(signInRequest(), HttpResponse.BodyHandlers.ofString());
+            for (int attempt = 1; response.statusCode() == 503 && attempt < SIGNIN_ATTEMPTS; attempt++) {
+                long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                Thread.sleep(retryAfter * 1000 + random.nextInt(1000));
+                response = client.send(signInRequest(), HttpResponse.BodyHandlers.ofString());
+            }
+            if (response.statusCode() != 200) {
+                throw new IOException("HTTP " + response.statusCode());
+            }
+            return objectMapper.readTree(response.body()).get("accessToken").asText();
+        }
+
+        private HttpRequest signInRequest() {
+            String username = "user" + (1 + random.nextInt(users));
+            return post("/api/auth/signin",
+                    "{\"usernameOrEmail\":\"" + username + "\",\"password\":\"" + userPassword + "\"}", null);
+        }
+
+        private long popularQuestion() {
+            return questionIdByRank[questionPopularity.sample(random)];
+        }
+
+        private Category randomCategory() {
+            Category[] categories = Category.values();
+            return categories[random.nextInt(categories.length)];
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+        }
+
+        private HttpRequest post(String path, String json, String bearer) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json));
+            if (bearer != null) {
+                builder.header("Authorization", "Bearer " + bearer);
+            }
+            return builder.build();
+        }
+
+        private String encode(String value) {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static class Stats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private long errors;
+
+        void merge(Stats other) {
+            latency.merge(other.latency);
+            errors += other.errors;
+        }
+    }
+}
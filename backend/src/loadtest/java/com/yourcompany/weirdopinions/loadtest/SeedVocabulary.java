@@ -0,0 +1,57 @@
+package com.yourcompany.weirdopinions.loadtest;
+
+import java.util.List;
+import java.util.Random;
+
+// Words the seeder builds titles from; the load driver searches for the same nouns so queries hit
+final class SeedVocabulary {
+
+    static final List<String> NOUNS = List.of(
+            "pineapple", "pizza", "socks", "sandals", "cereal", "milk", "ketchup", "pancakes", "cats", "dogs",
+            "coffee", "tea", "mornings", "alarms", "emails", "meetings", "trains", "umbrellas", "mayonnaise",
+            "fries", "sushi", "karaoke", "crocs", "naps", "spreadsheets", "podcasts", "houseplants", "toast",
+            "marshmallows", "elevators", "pajamas", "tacos", "vinyl", "sunscreen", "puzzles", "spoons");
+
+    static final List<String> VERBS = List.of(
+            "eat", "wear", "collect", "talk to", "microwave", "sleep with", "alphabetize", "name", "freeze",
+            "rate", "hide", "iron", "decorate", "sing to", "photograph", "dip");
+
+    static final List<String> CONTEXTS = List.of(
+            "at work", "before breakfast", "on vacation", "every day", "in public", "at weddings",
+            "on a first date", "in the shower", "at midnight", "with friends", "alone", "on Mondays");
+
+    static final List<String> ADJECTIVES = List.of(
+            "Curious", "Sleepy", "Brave", "Quiet", "Sneaky", "Fancy", "Grumpy", "Jolly", "Mellow", "Zesty");
+
+    static final List<String> ANIMALS = List.of(
+            "Otter", "Panda", "Falcon", "Badger", "Koala", "Llama", "Narwhal", "Gecko", "Walrus", "Moose");
+
+    private SeedVocabulary() {}
+
+    static String title(Random random) {
+        return "Is it weird to " + pick(VERBS, random) + " " + pick(NOUNS, random) + " " + pick(CONTEXTS, random) + "?";
+    }
+
+    static String description(Random random) {
+        int sentences = 1 + random.nextInt(4);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            text.append("I ").append(pick(VERBS, random)).append(' ').append(pick(NOUNS, random)).append(' ')
+                    .append(pick(CONTEXTS, random)).append(" and nobody else seems to. ");
+        }
+        return text.toString().trim();
+    }
+
+    static String comment(Random random) {
+        return "Honestly " + pick(NOUNS, random) + " " + pick(CONTEXTS, random) + " is "
+                + (random.nextBoolean() ? "totally normal." : "a little weird.");
+    }
+
+    static String anonymousName(Random random) {
+        return pick(ADJECTIVES, random) + " " + pick(ANIMALS, random) + " " + random.nextInt(1000);
+    }
+
+    static String pick(List<String> words, Random random) {
+        return words.get(random.nextInt(words.size()));
+    }
+}
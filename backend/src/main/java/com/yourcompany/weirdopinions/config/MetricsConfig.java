@@ -0,0 +1,105 @@
+package com.yourcompany.weirdopinions.config;
+
+import com.yourcompany.weirdopinions.model.Category;
+import com.yourcompany.weirdopinions.security.BoundedPasswordEncoder;
+import com.yourcompany.weirdopinions.service.CategoryFeedService;
+import com.yourcompany.weirdopinions.service.EntityCacheService;
+import com.yourcompany.weirdopinions.service.LiveUpdateService;
+import com.yourcompany.weirdopinions.service.PollTallyService;
+import com.yourcompany.weirdopinions.service.UserAvailabilityService;
+import com.yourcompany.weirdopinions.service.UserPrincipalCache;
+import com.yourcompany.weirdopinions.service.UserVoteCache;
+import com.yourcompany.weirdopinions.service.VoteWriteBehindService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+// Publishes the stats the services already keep as Micrometer meters. Gauges and function counters/timers
+// read those stats when the registry is scraped, so none of this adds work to the request path.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder passwordEncoderMetrics(BoundedPasswordEncoder passwordEncoder) {
+        return registry -> {
+            Gauge.builder("weirdopinions.passwords.active", passwordEncoder, BoundedPasswordEncoder::getActiveCount)
+                    .description("Password hashes running").register(registry);
+            Gauge.builder("weirdopinions.passwords.queued", passwordEncoder, BoundedPasswordEncoder::getQueuedCount)
+                    .description("Password hashes waiting for a hashing thread").register(registry);
+            FunctionCounter.builder("weirdopinions.passwords.rejected", passwordEncoder,
+                            BoundedPasswordEncoder::getRejectedCount)
+                    .description("Password hashes refused because the pool was saturated").register(registry);
+            bindTiming(registry, "encode", passwordEncoder.getEncodeTiming());
+            bindTiming(registry, "matches", passwordEncoder.getMatchesTiming());
+        };
+    }
+
+    private static void bindTiming(MeterRegistry registry, String operation, BoundedPasswordEncoder.Timing timing) {
+        FunctionTimer.builder("weirdopinions.passwords.hash", timing, BoundedPasswordEncoder.Timing::getCount,
+                        BoundedPasswordEncoder.Timing::getHashNanos, TimeUnit.NANOSECONDS)
+                .tag("operation", operation).register(registry);
+        FunctionTimer.builder("weirdopinions.passwords.wait", timing, BoundedPasswordEncoder.Timing::getCount,
+                        BoundedPasswordEncoder.Timing::getQueueNanos, TimeUnit.NANOSECONDS)
+                .tag("operation", operation).register(registry);
+    }
+
+    @Bean
+    public MeterBinder cacheMetrics(EntityCacheService entityCacheService, UserPrincipalCache principalCache,
+                                    UserVoteCache userVoteCache) {
+        return registry -> {
+            for (String region : EntityCacheService.REGIONS) {
+                Gauge.builder("weirdopinions.cache.hit.ratio", entityCacheService,
+                                service -> service.hitRatios().getOrDefault(region, Double.NaN))
+                        .tag("region", region).register(registry);
+            }
+            Gauge.builder("weirdopinions.principals.cached", principalCache, UserPrincipalCache::size)
+                    .register(registry);
+            Gauge.builder("weirdopinions.myvotes.cache.users", userVoteCache, UserVoteCache::getUserCount)
+                    .register(registry);
+            FunctionCounter.builder("weirdopinions.myvotes.cache.lookups", userVoteCache, UserVoteCache::getHitCount)
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("weirdopinions.myvotes.cache.lookups", userVoteCache, UserVoteCache::getMissCount)
+                    .tag("result", "miss").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder availabilityMetrics(UserAvailabilityService availabilityService) {
+        return registry -> {
+            FunctionCounter.builder("weirdopinions.availability.lookups", availabilityService,
+                    UserAvailabilityService::lookupCount).register(registry);
+            FunctionCounter.builder("weirdopinions.availability.database.checks", availabilityService,
+                    UserAvailabilityService::databaseCheckCount).register(registry);
+            Gauge.builder("weirdopinions.availability.false.positive.rate", availabilityService,
+                    UserAvailabilityService::observedFalsePositiveRate).register(registry);
+            Gauge.builder("weirdopinions.availability.expected.false.positive.rate", availabilityService,
+                    UserAvailabilityService::expectedFalsePositiveRate).register(registry);
+            Gauge.builder("weirdopinions.availability.filter.bytes", availabilityService,
+                    UserAvailabilityService::memoryBytes).baseUnit("bytes").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder feedMetrics(CategoryFeedService categoryFeedService, VoteWriteBehindService voteWriteBehindService,
+                                   LiveUpdateService liveUpdateService, PollTallyService pollTallyService) {
+        return registry -> {
+            for (Category category : Category.values()) {
+                Gauge.builder("weirdopinions.category.feed.bytes", categoryFeedService,
+                                service -> service.footprint().getOrDefault(category, 0L))
+                        .tag("category", category.name()).baseUnit("bytes").register(registry);
+            }
+            Gauge.builder("weirdopinions.votes.queued", voteWriteBehindService, VoteWriteBehindService::queuedVotes)
+                    .description("Votes waiting for the write-behind flush").register(registry);
+            Gauge.builder("weirdopinions.live.subscribers", liveUpdateService, LiveUpdateService::subscriberCount)
+                    .register(registry);
+            Gauge.builder("weirdopinions.polls.tallies", pollTallyService, PollTallyService::size)
+                    .description("Polls with live tallies held in memory").register(registry);
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.yourcompany.weirdopinions.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Maximum Hibernate statements one call of the annotated handler may issue, replacing
+// app.sql.maxStatementsPerRequest for that endpoint. Enforced by SqlStatementFilter.
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+    int value();
+}
@@ -0,0 +1,111 @@
+package com.yourcompany.weirdopinions.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Counts the SQL statements Hibernate prepares on the current thread: queries, entity and collection loads,
+// and flushed writes. JdbcTemplate statements (vote write-behind) bypass Hibernate and are not seen.
+// Registered through hibernate.session_factory.statement_inspector, so Hibernate creates the instance;
+// SqlStatementFilter opens a tally per request and reads it afterwards. Threads without an open tally
+// (schedulers, startup) are not tracked.
+//
+// Identical SQL text means the same statement with different parameters, the signature of an N+1 loop. The
+// application call site is captured once per statement, when it first repeats, so a request that issues
+// each statement once never walks the stack.
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final String APPLICATION_PACKAGE = "com.yourcompany.weirdopinions.";
+    private static final int CALL_SITE_FRAMES = 3;
+
+    private static final ThreadLocal<Tally> TALLY = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Tally tally = TALLY.get();
+        if (tally != null) {
+            tally.record(sql);
+        }
+        return sql;
+    }
+
+    public static Tally begin() {
+        Tally tally = new Tally();
+        TALLY.set(tally);
+        return tally;
+    }
+
+    public static void end() {
+        TALLY.remove();
+    }
+
+    // The innermost application frames outside this package (proxies skipped), innermost first
+    private static String callSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(SqlStatementCounter.class.getPackageName())
+                        && !frame.getClassName().contains("$$"))
+                .limit(CALL_SITE_FRAMES)
+                .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining(" <- ")));
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    public static class Tally {
+        private final Map<String, Statement> bySql = new HashMap<>();
+        private int total;
+
+        void record(String sql) {
+            total++;
+            Statement statement = bySql.computeIfAbsent(sql, Statement::new);
+            if (++statement.count == 2) {
+                statement.callSite = callSite();
+            }
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        // Distinct SQL texts issued, in no particular order
+        public Set<String> getSql() {
+            return new HashSet<>(bySql.keySet());
+        }
+
+        // Statements issued more than once, most repeated first
+        public List<Statement> repeated() {
+            List<Statement> repeated = new ArrayList<>();
+            for (Statement statement : bySql.values()) {
+                if (statement.count > 1) {
+                    repeated.add(statement);
+                }
+            }
+            repeated.sort((a, b) -> Integer.compare(b.count, a.count));
+            return repeated;
+        }
+    }
+
+    public static class Statement {
+        private final String sql;
+        private int count;
+        private String callSite;
+
+        Statement(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() { return sql; }
+        public int getCount() { return count; }
+        public String getCallSite() { return callSite; }
+    }
+}
@@ -0,0 +1,118 @@
+package com.yourcompany.weirdopinions.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+
+// Tallies the SQL statements each request issued (see SqlStatementCounter). Runs ahead of the security chain
+// so the principal lookup is included. Every request that matched a handler is recorded, tagged by method
+// and route pattern, as weirdopinions.http.sql.statements; unmatched requests (404s, static resources) are
+// skipped, which keeps the uri tag bounded.
+//
+// A request over its budget (@SqlBudget on the handler, else app.sql.maxStatementsPerRequest) is reported
+// with its repeated statements and their call sites. LOG mode warns; FAIL mode throws, which is meant for
+// tests: MockMvc rethrows it, while on a live server the response has already been sent.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementFilter.class);
+
+    private static final int REPORTED_STATEMENTS = 5;
+
+    public enum BudgetMode {
+        OFF, LOG, FAIL
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.sql.maxStatementsPerRequest}")
+    private int maxStatementsPerRequest;
+
+    @Value("${app.sql.budgetMode}")
+    private BudgetMode budgetMode;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.Tally tally = SqlStatementCounter.begin();
+        Object pattern;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.end();
+            pattern = record(request, tally);
+        }
+
+        int budget = budgetFor(request);
+        if (pattern != null && budgetMode != BudgetMode.OFF && tally.getTotal() > budget) {
+            String report = report(request.getMethod() + " " + pattern, tally, budget);
+            if (budgetMode == BudgetMode.FAIL) {
+                throw new SqlBudgetExceededException(report);
+            }
+            logger.warn(report);
+        }
+    }
+
+    // Returns the matched route pattern, or null when no handler matched
+    private Object record(HttpServletRequest request, SqlStatementCounter.Tally tally) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            DistributionSummary.builder("weirdopinions.http.sql.statements")
+                    .description("SQL statements issued per request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern.toString())
+                    .register(meterRegistry)
+                    .record(tally.getTotal());
+        }
+        return pattern;
+    }
+
+    private int budgetFor(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            SqlBudget budget = method.getMethodAnnotation(SqlBudget.class);
+            if (budget != null) {
+                return budget.value();
+            }
+        }
+        return maxStatementsPerRequest;
+    }
+
+    private static String report(String endpoint, SqlStatementCounter.Tally tally, int budget) {
+        StringBuilder report = new StringBuilder()
+                .append(endpoint).append(" issued ").append(tally.getTotal())
+                .append(" SQL statements (budget ").append(budget).append(")");
+        List<SqlStatementCounter.Statement> repeated = tally.repeated();
+        int shown = Math.min(repeated.size(), REPORTED_STATEMENTS);
+        for (SqlStatementCounter.Statement statement : repeated.subList(0, shown)) {
+            report.append("\n  ").append(statement.getCount()).append("x at ").append(statement.getCallSite())
+                    .append(": ").append(statement.getSql());
+        }
+        return report.toString();
+    }
+
+    public static class SqlBudgetExceededException extends RuntimeException {
+        public SqlBudgetExceededException(String message) {
+            super(message);
+        }
+    }
+}
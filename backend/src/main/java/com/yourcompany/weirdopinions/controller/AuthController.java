@@ -1,128 +1,147 @@
-package com.yourcompany.weirdopinions.controller;
-
-import com.yourcompany.weirdopinions.model.User;
-import com.yourcompany.weirdopinions.security.JwtTokenProvider;
-import com.yourcompany.weirdopinions.service.UserService;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.web.bind.annotation.*;
-
-import jakarta.validation.Valid;
-import java.util.Map;
-
-@RestController
-@RequestMapping("/api/auth")
-@CrossOrigin(origins = "*", maxAge = 3600)
-public class AuthController {
-
-    @Autowired
-    private AuthenticationManager authenticationManager;
-
-    @Autowired
-    private UserService userService;
-
-    @Autowired
-    private JwtTokenProvider tokenProvider;
-
-    @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            loginRequest.getUsernameOrEmail(),
-                            loginRequest.getPassword()
-                    )
-            );
-
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            String jwt = tokenProvider.generateToken(authentication);
-
-            User user = userService.findByUsername(loginRequest.getUsernameOrEmail())
-                    .orElse(userService.findByEmail(loginRequest.getUsernameOrEmail())
-                            .orElseThrow(() -> new RuntimeException("User not found")));
-
-            return ResponseEntity.ok(new JwtAuthenticationResponse(jwt, user));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                    .body(Map.of("error", "Invalid username/email or password"));
-        }
-    }
-
-    @PostMapping("/signup")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody SignUpRequest signUpRequest) {
-        try {
-            User user = userService.createUser(
-                    signUpRequest.getUsername(),
-                    signUpRequest.getEmail(),
-                    signUpRequest.getPassword()
-            );
-
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "message", "User registered successfully",
-                    "user", user
-            ));
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest()
-                    .body(Map.of("error", e.getMessage()));
-        }
-    }
-
-    @GetMapping("/check-username")
-    public ResponseEntity<?> checkUsernameAvailability(@RequestParam String username) {
-        boolean available = !userService.existsByUsername(username);
-        return ResponseEntity.ok(Map.of("available", available));
-    }
-
-    @GetMapping("/check-email")
-    public ResponseEntity<?> checkEmailAvailability(@RequestParam String email) {
-        boolean available = !userService.existsByEmail(email);
-        return ResponseEntity.ok(Map.of("available", available));
-    }
-
-    // Request/Response DTOs
-    public static class LoginRequest {
-        private String usernameOrEmail;
-        private String password;
-
-        public String getUsernameOrEmail() { return usernameOrEmail; }
-        public void setUsernameOrEmail(String usernameOrEmail) { this.usernameOrEmail = usernameOrEmail; }
-        public String getPassword() { return password; }
-        public void setPassword(String password) { this.password = password; }
-    }
-
-    public static class SignUpRequest {
-        private String username;
-        private String email;
-        private String password;
-
-        public String getUsername() { return username; }
-        public void setUsername(String username) { this.username = username; }
-        public String getEmail() { return email; }
-        public void setEmail(String email) { this.email = email; }
-        public String getPassword() { return password; }
-        public void setPassword(String password) { this.password = password; }
-    }
-
-    public static class JwtAuthenticationResponse {
-        private String accessToken;
-        private String tokenType = "Bearer";
-        private User user;
-
-        public JwtAuthenticationResponse(String accessToken, User user) {
-            this.accessToken = accessToken;
-            this.user = user;
-        }
-
-        public String getAccessToken() { return accessToken; }
-        public void setAccessToken(String accessToken) { this.accessToken = accessToken; }
-        public String getTokenType() { return tokenType; }
-        public void setTokenType(String tokenType) { this.tokenType = tokenType; }
-        public User getUser() { return user; }
-        public void setUser(User user) { this.user = user; }
-    }
+package com.yourcompany.weirdopinions.controller;
+
+import com.yourcompany.weirdopinions.config.SqlBudget;
+import com.yourcompany.weirdopinions.dto.UserSummary;
+import com.yourcompany.weirdopinions.model.User;
+import com.yourcompany.weirdopinions.security.BoundedPasswordEncoder.PasswordEncoderBusyException;
+import com.yourcompany.weirdopinions.security.JwtTokenProvider;
+import com.yourcompany.weirdopinions.service.CustomUserDetailsService.UserPrincipal;
+import com.yourcompany.weirdopinions.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/auth")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class AuthController {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @PostMapping("/signin")
+    @SqlBudget(4)
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.getUsernameOrEmail(),
+                            loginRequest.getPassword()
+                    )
+            );
+
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            String jwt = tokenProvider.generateToken(authentication);
+
+            UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+            User user = userService.findById(principal.getId())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            return ResponseEntity.ok(new JwtAuthenticationResponse(jwt, UserSummary.from(user)));
+        } catch (PasswordEncoderBusyException e) {
+            return busy(e);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Invalid username/email or password"));
+        }
+    }
+
+    @PostMapping("/signup")
+    @SqlBudget(4)
+    public ResponseEntity<?> registerUser(@Valid @RequestBody SignUpRequest signUpRequest) {
+        try {
+            User user = userService.createUser(
+                    signUpRequest.getUsername(),
+                    signUpRequest.getEmail(),
+                    signUpRequest.getPassword()
+            );
+
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "message", "User registered successfully",
+                    "user", UserSummary.from(user)
+            ));
+        } catch (PasswordEncoderBusyException e) {
+            return busy(e);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/check-username")
+    @SqlBudget(1)
+    public ResponseEntity<?> checkUsernameAvailability(@RequestParam String username) {
+        boolean available = !userService.existsByUsername(username);
+        return ResponseEntity.ok(Map.of("available", available));
+    }
+
+    @GetMapping("/check-email")
+    @SqlBudget(1)
+    public ResponseEntity<?> checkEmailAvailability(@RequestParam String email) {
+        boolean available = !userService.existsByEmail(email);
+        return ResponseEntity.ok(Map.of("available", available));
+    }
+
+    private ResponseEntity<?> busy(PasswordEncoderBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(Map.of("error", e.getMessage()));
+    }
+
+    // Request/Response DTOs
+    public static class LoginRequest {
+        private String usernameOrEmail;
+        private String password;
+
+        public String getUsernameOrEmail() { return usernameOrEmail; }
+        public void setUsernameOrEmail(String usernameOrEmail) { this.usernameOrEmail = usernameOrEmail; }
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+    }
+
+    public static class SignUpRequest {
+        private String username;
+        private String email;
+        private String password;
+
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+    }
+
+    public static class JwtAuthenticationResponse {
+        private String accessToken;
+        private String tokenType = "Bearer";
+        private UserSummary user;
+
+        public JwtAuthenticationResponse(String accessToken, UserSummary user) {
+            this.accessToken = accessToken;
+            this.user = user;
+        }
+
+        public String getAccessToken() { return accessToken; }
+        public void setAccessToken(String accessToken) { this.accessToken = accessToken; }
+        public String getTokenType() { return tokenType; }
+        public void setTokenType(String tokenType) { this.tokenType = tokenType; }
+        public UserSummary getUser() { return user; }
+        public void setUser(UserSummary user) { this.user = user; }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.yourcompany.weirdopinions.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+// Evaluates If-None-Match against an ETag known up front, so a 304 is sent without running the query or
+// building the body. Responses carry no Last-Modified: its second precision cannot tell apart two changes
+// made within the same second, so If-Modified-Since would answer 304 for a page that has moved on.
+final class ConditionalGet {
+
+    private ConditionalGet() {}
+
+    static <T> ResponseEntity<T> respond(WebRequest request, String etag, CacheControl cacheControl,
+                                         Supplier<ResponseEntity<T>> response) {
+        if (isNotModified(request, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+
+        ResponseEntity<T> built = response.get();
+        if (!built.getStatusCode().is2xxSuccessful()) {
+            return built;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(built.getHeaders());
+        headers.setETag(etag);
+        headers.setCacheControl(cacheControl);
+        return new ResponseEntity<>(built.getBody(), headers, built.getStatusCode());
+    }
+
+    private static boolean isNotModified(WebRequest request, String etag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
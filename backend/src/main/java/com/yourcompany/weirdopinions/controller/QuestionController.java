@@ -1,197 +1,409 @@
-package com.yourcompany.weirdopinions.controller;
-
-import com.yourcompany.weirdopinions.model.*;
-import com.yourcompany.weirdopinions.service.*;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.web.bind.annotation.*;
-
-import jakarta.validation.Valid;
-import java.util.List;
-import java.util.Map;
-
-@RestController
-@RequestMapping("/api/questions")
-@CrossOrigin(origins = "*", maxAge = 3600)
-public class QuestionController {
-
-    @Autowired
-    private QuestionService questionService;
-
-    @Autowired
-    private UserService userService;
-
-    @Autowired
-    private CommentService commentService;
-
-    @GetMapping
-    public ResponseEntity<Page<Question>> getAllQuestions(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(questionService.getAllQuestions(page, size));
-    }
-
-    @GetMapping("/category/{category}")
-    public ResponseEntity<Page<Question>> getQuestionsByCategory(
-            @PathVariable Category category,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(questionService.getQuestionsByCategory(category, page, size));
-    }
-
-    @GetMapping("/trending")
-    public ResponseEntity<List<Question>> getTrendingQuestions() {
-        return ResponseEntity.ok(questionService.getTrendingQuestions());
-    }
-
-    @GetMapping("/search")
-    public ResponseEntity<Page<Question>> searchQuestions(
-            @RequestParam String q,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(questionService.searchQuestions(q, page, size));
-    }
-
-    @GetMapping("/{id}")
-    public ResponseEntity<Question> getQuestionById(@PathVariable Long id) {
-        return questionService.getQuestionById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
-    }
-
-    @GetMapping("/{id}/comments")
-    public ResponseEntity<List<Comment>> getQuestionComments(@PathVariable Long id) {
-        return ResponseEntity.ok(commentService.getCommentsByQuestion(id));
-    }
-
-    @PostMapping
-    @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<Question> createQuestion(
-            @Valid @RequestBody CreateQuestionRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        
-        User user = userService.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        Question question = questionService.createQuestion(
-                request.getTitle(),
-                request.getDescription(),
-                request.getCategory(),
-                request.getPollOptions(),
-                request.getImageUrl(),
-                user
-        );
-        
-        return ResponseEntity.ok(question);
-    }
-
-    @PutMapping("/{id}")
-    @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<Question> updateQuestion(
-            @PathVariable Long id,
-            @Valid @RequestBody UpdateQuestionRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        
-        User user = userService.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        try {
-            Question updatedQuestion = questionService.updateQuestion(
-                    id, request.getTitle(), request.getDescription(), user);
-            return ResponseEntity.ok(updatedQuestion);
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().build();
-        }
-    }
-
-    @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<?> deleteQuestion(
-            @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        
-        User user = userService.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        try {
-            questionService.deleteQuestion(id, user);
-            return ResponseEntity.ok().build();
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().build();
-        }
-    }
-
-    @PostMapping("/{id}/vote")
-    @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<?> voteOnQuestion(
-            @PathVariable Long id,
-            @RequestBody Map<String, String> request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        
-        User user = userService.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        try {
-            VoteType voteType = VoteType.valueOf(request.get("voteType").toUpperCase());
-            Vote vote = questionService.voteOnQuestion(id, voteType, user);
-            return ResponseEntity.ok(Map.of("success", true, "vote", vote));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
-        }
-    }
-
-    @PostMapping("/{id}/poll-vote")
-    @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<?> voteOnPoll(
-            @PathVariable Long id,
-            @RequestBody Map<String, Integer> request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        
-        User user = userService.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        try {
-            int optionIndex = request.get("optionIndex");
-            PollVote vote = questionService.voteOnPoll(id, optionIndex, user);
-            return ResponseEntity.ok(Map.of("success", true, "pollVote", vote));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
-        }
-    }
-
-    // Request DTOs
-    public static class CreateQuestionRequest {
-        private String title;
-        private String description;
-        private Category category;
-        private List<String> pollOptions;
-        private String imageUrl;
-
-        // Getters and setters
-        public String getTitle() { return title; }
-        public void setTitle(String title) { this.title = title; }
-        public String getDescription() { return description; }
-        public void setDescription(String description) { this.description = description; }
-        public Category getCategory() { return category; }
-        public void setCategory(Category category) { this.category = category; }
-        public List<String> getPollOptions() { return pollOptions; }
-        public void setPollOptions(List<String> pollOptions) { this.pollOptions = pollOptions; }
-        public String getImageUrl() { return imageUrl; }
-        public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
-    }
-
-    public static class UpdateQuestionRequest {
-        private String title;
-        private String description;
-
-        // Getters and setters
-        public String getTitle() { return title; }
-        public void setTitle(String title) { this.title = title; }
-        public String getDescription() { return description; }
-        public void setDescription(String description) { this.description = description; }
-    }
+package com.yourcompany.weirdopinions.controller;
+
+import com.yourcompany.weirdopinions.config.SqlBudget;
+import com.yourcompany.weirdopinions.dto.CommentThread;
+import com.yourcompany.weirdopinions.dto.CommentView;
+import com.yourcompany.weirdopinions.dto.CursorPage;
+import com.yourcompany.weirdopinions.dto.MyVotes;
+import com.yourcompany.weirdopinions.dto.PollResults;
+import com.yourcompany.weirdopinions.dto.QuestionDetail;
+import com.yourcompany.weirdopinions.dto.QuestionSummary;
+import com.yourcompany.weirdopinions.model.*;
+import com.yourcompany.weirdopinions.service.*;
+import com.yourcompany.weirdopinions.service.CustomUserDetailsService.UserPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.validation.Valid;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@RestController
+@RequestMapping("/api/questions")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class QuestionController {
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private VoteWriteBehindService voteWriteBehindService;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    @Autowired
+    private FeedVersionService feedVersionService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private VoteLookupService voteLookupService;
+
+    @Value("${app.http.feedMaxAgeSeconds}")
+    private long feedMaxAgeSeconds;
+
+    @Value("${app.http.feedStaleWhileRevalidateSeconds}")
+    private long feedStaleWhileRevalidateSeconds;
+
+    @Value("${app.myVotes.maxIds}")
+    private int myVotesMaxIds;
+
+    // Feeds are the same for every caller, so shared caches may keep them briefly and revalidate by ETag
+    private CacheControl feedCacheControl() {
+        return CacheControl.maxAge(Duration.ofSeconds(feedMaxAgeSeconds))
+                .staleWhileRevalidate(Duration.ofSeconds(feedStaleWhileRevalidateSeconds))
+                .cachePublic();
+    }
+
+    private <T> ResponseEntity<T> feedResponse(WebRequest request, String scope, long version,
+                                               Supplier<ResponseEntity<T>> response) {
+        return ConditionalGet.respond(request, feedVersionService.etag(scope, version), feedCacheControl(), response);
+    }
+
+    @GetMapping
+    @SqlBudget(2)
+    public ResponseEntity<Page<QuestionSummary>> getAllQuestions(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return feedResponse(request, "all", feedVersionService.current(),
+                () -> ResponseEntity.ok(questionService.getAllQuestions(page, size)));
+    }
+
+    @GetMapping("/category/{category}")
+    @SqlBudget(2)
+    public ResponseEntity<Page<QuestionSummary>> getQuestionsByCategory(
+            @PathVariable Category category,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return feedResponse(request, category.name(), feedVersionService.current(category),
+                () -> ResponseEntity.ok(questionService.getQuestionsByCategory(category, page, size)));
+    }
+
+    @GetMapping("/feed")
+    @SqlBudget(1)
+    public ResponseEntity<CursorPage<QuestionSummary>> getQuestionFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return feedResponse(request, "all", feedVersionService.current(), () -> {
+            try {
+                return ResponseEntity.ok(questionService.getQuestionFeed(cursor, size));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
+    }
+
+    @GetMapping("/category/{category}/feed")
+    @SqlBudget(1)
+    public ResponseEntity<CursorPage<QuestionSummary>> getCategoryFeed(
+            @PathVariable Category category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return feedResponse(request, category.name(), feedVersionService.current(category), () -> {
+            try {
+                return ResponseEntity.ok(questionService.getCategoryFeed(category, cursor, size));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
+    }
+
+    @GetMapping("/trending")
+    @SqlBudget(0)
+    public ResponseEntity<List<QuestionSummary>> getTrendingQuestions(WebRequest request) {
+        return ConditionalGet.respond(request, feedVersionService.etag("trending", trendingService.getVersion()),
+                feedCacheControl(), () -> ResponseEntity.ok(questionService.getTrendingQuestions()));
+    }
+
+    @GetMapping("/category/{category}/trending")
+    @SqlBudget(0)
+    public ResponseEntity<List<QuestionSummary>> getTrendingQuestionsByCategory(@PathVariable Category category,
+                                                                               WebRequest request) {
+        String etag = feedVersionService.etag("trending-" + category.name(), trendingService.getVersion());
+        return ConditionalGet.respond(request, etag, feedCacheControl(),
+                () -> ResponseEntity.ok(questionService.getTrendingQuestions(category)));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @SqlBudget(0)
+    public ResponseEntity<SseEmitter> streamFeed() {
+        return stream(() -> liveUpdateService.subscribeToFeed(null));
+    }
+
+    @GetMapping(value = "/category/{category}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @SqlBudget(0)
+    public ResponseEntity<SseEmitter> streamCategoryFeed(@PathVariable Category category) {
+        return stream(() -> liveUpdateService.subscribeToFeed(category));
+    }
+
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @SqlBudget(0)
+    public ResponseEntity<SseEmitter> streamQuestion(@PathVariable Long id) {
+        return stream(() -> liveUpdateService.subscribeToQuestion(id));
+    }
+
+    // At the subscriber cap the client gets a 503 and should reconnect after Retry-After
+    private ResponseEntity<SseEmitter> stream(Supplier<SseEmitter> subscribe) {
+        try {
+            return ResponseEntity.ok(subscribe.get());
+        } catch (LiveUpdateService.TooManySubscribersException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").build();
+        }
+    }
+
+    @GetMapping("/search")
+    @SqlBudget(1)
+    public ResponseEntity<Page<QuestionSummary>> searchQuestions(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            return ResponseEntity.ok(questionService.searchQuestions(q, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Vote and comment counts change without touching updatedAt, so only the ETag (which covers them)
+    // is a safe validator here; clients must revalidate on every use
+    @GetMapping("/{id}")
+    @SqlBudget(2)
+    public ResponseEntity<QuestionDetail> getQuestionById(@PathVariable Long id, WebRequest request) {
+        return questionService.getQuestionDetail(id)
+                .map(detail -> ConditionalGet.respond(request, etagOf(detail),
+                        CacheControl.noCache().cachePublic(), () -> ResponseEntity.ok(detail)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static String etagOf(QuestionDetail detail) {
+        return "\"q" + detail.getId() + "-"
+                + (detail.getUpdatedAt() != null ? detail.getUpdatedAt().toEpochMilli() : 0) + "-"
+                + detail.getUpvotes() + "-" + detail.getDownvotes() + "-" + detail.getCommentCount() + "\"";
+    }
+
+    @GetMapping("/{id}/poll-results")
+    @SqlBudget(2)
+    public ResponseEntity<PollResults> getPollResults(@PathVariable Long id) {
+        return questionService.getPollResults(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/comments")
+    @SqlBudget(2)
+    public ResponseEntity<List<CommentView>> getQuestionComments(@PathVariable Long id) {
+        return ResponseEntity.ok(commentService.getCommentsByQuestion(id));
+    }
+
+    @GetMapping("/{id}/comment-threads")
+    @SqlBudget(3)
+    public ResponseEntity<CursorPage<CommentThread>> getQuestionCommentThreads(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "2") int depth) {
+        try {
+            return ResponseEntity.ok(commentService.getCommentThreads(id, cursor, size, depth));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}/comments/{commentId}/replies")
+    @SqlBudget(2)
+    public ResponseEntity<CursorPage<CommentView>> getCommentReplies(
+            @PathVariable Long id,
+            @PathVariable Long commentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(commentService.getReplies(commentId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping
+    @SqlBudget(8)
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<QuestionDetail> createQuestion(
+            @Valid @RequestBody CreateQuestionRequest request,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        
+        User user = userService.getReference(principal.getId());
+        
+        Question question = questionService.createQuestion(
+                request.getTitle(),
+                request.getDescription(),
+                request.getCategory(),
+                request.getPollOptions(),
+                request.getImageUrl(),
+                user
+        );
+        
+        return ResponseEntity.ok(QuestionDetail.from(question, 0));
+    }
+
+    @PutMapping("/{id}")
+    @SqlBudget(7)
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<QuestionDetail> updateQuestion(
+            @PathVariable Long id,
+            @Valid @RequestBody UpdateQuestionRequest request,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        
+        User user = userService.getReference(principal.getId());
+        
+        try {
+            questionService.updateQuestion(id, request.getTitle(), request.getDescription(), user);
+            return questionService.getQuestionDetail(id)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @SqlBudget(12)
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<?> deleteQuestion(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        
+        User user = userService.getReference(principal.getId());
+        
+        try {
+            questionService.deleteQuestion(id, user);
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // The caller's vote and poll choice for a page of questions (and comments) in one request
+    @GetMapping("/my-votes")
+    @SqlBudget(5)
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<?> getMyVotes(
+            @RequestParam(required = false) List<Long> questionIds,
+            @RequestParam(required = false) List<Long> commentIds,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        List<Long> questions = questionIds != null ? questionIds : List.of();
+        List<Long> comments = commentIds != null ? commentIds : List.of();
+        if (questions.size() + comments.size() > myVotesMaxIds) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "At most " + myVotesMaxIds + " ids per request"));
+        }
+        MyVotes votes = voteLookupService.getMyVotes(principal.getId(), questions, comments);
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(votes);
+    }
+
+    @PostMapping("/{id}/vote")
+    @SqlBudget(6)
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<?> voteOnQuestion(
+            @PathVariable Long id,
+            @RequestBody Map<String, String> request,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        
+        User user = userService.getReference(principal.getId());
+        
+        try {
+            VoteType voteType = VoteType.valueOf(request.get("voteType").toUpperCase());
+            if (voteWriteBehindService.isEnabled()) {
+                voteWriteBehindService.submitQuestionVote(principal.getId(), id, voteType);
+                return ResponseEntity.ok(Map.of("success", true, "queued", true));
+            }
+            Vote vote = questionService.voteOnQuestion(id, voteType, user);
+            // A repeated vote retracts it; the entity itself is not serializable (lazy, cyclic associations)
+            return ResponseEntity.ok(Map.of("success", true,
+                    "voteType", vote != null ? vote.getVoteType().name() : "NONE"));
+        } catch (VoteWriteBehindService.VoteQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{id}/poll-vote")
+    @SqlBudget(6)
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<?> voteOnPoll(
+            @PathVariable Long id,
+            @RequestBody Map<String, Integer> request,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        
+        User user = userService.getReference(principal.getId());
+        
+        try {
+            int optionIndex = request.get("optionIndex");
+            if (voteWriteBehindService.isEnabled()) {
+                voteWriteBehindService.submitPollVote(principal.getId(), id, optionIndex);
+                return ResponseEntity.ok(Map.of("success", true, "queued", true));
+            }
+            PollVote vote = questionService.voteOnPoll(id, optionIndex, user);
+            return ResponseEntity.ok(Map.of("success", true, "optionIndex", vote.getOptionIndex()));
+        } catch (VoteWriteBehindService.VoteQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Request DTOs
+    public static class CreateQuestionRequest {
+        private String title;
+        private String description;
+        private Category category;
+        private List<String> pollOptions;
+        private String imageUrl;
+
+        // Getters and setters
+        public String getTitle() { return title; }
+        public void setTitle(String title) { this.title = title; }
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+        public Category getCategory() { return category; }
+        public void setCategory(Category category) { this.category = category; }
+        public List<String> getPollOptions() { return pollOptions; }
+        public void setPollOptions(List<String> pollOptions) { this.pollOptions = pollOptions; }
+        public String getImageUrl() { return imageUrl; }
+        public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+    }
+
+    public static class UpdateQuestionRequest {
+        private String title;
+        private String description;
+
+        // Getters and setters
+        public String getTitle() { return title; }
+        public void setTitle(String title) { this.title = title; }
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.yourcompany.weirdopinions.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// One comment with the replies loaded up to the requested depth and the per-thread limit. hasMoreReplies
+// is set when the comment has replies that were not loaded; repliesCursor continues after the last loaded
+// one (null when none were loaded)
+public class CommentThread {
+    private final CommentView comment;
+    private final List<CommentThread> replies = new ArrayList<>();
+    private boolean hasMoreReplies;
+    private String repliesCursor;
+
+    public CommentThread(CommentView comment) {
+        this.comment = comment;
+    }
+
+    // Loaded replies are always the oldest ones, so the last of them is where the rest continue
+    public void markUnloadedReplies() {
+        hasMoreReplies = comment.getReplyCount() > replies.size();
+        if (hasMoreReplies && !replies.isEmpty()) {
+            CommentView last = replies.get(replies.size() - 1).getComment();
+            repliesCursor = new FeedCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+    }
+
+    // Getters
+    public CommentView getComment() { return comment; }
+    public List<CommentThread> getReplies() { return replies; }
+    public boolean isHasMoreReplies() { return hasMoreReplies; }
+    public String getRepliesCursor() { return repliesCursor; }
+}
@@ -0,0 +1,56 @@
+package com.yourcompany.weirdopinions.dto;
+
+import com.yourcompany.weirdopinions.model.Comment;
+
+import java.time.Instant;
+
+public class CommentView {
+    private final Long id;
+    private final String content;
+    private final String anonymousName;
+    private final Long questionId;
+    private final Long parentCommentId;
+    private final int upvotes;
+    private final int downvotes;
+    private final int replyCount;
+    private final Instant createdAt;
+
+    public CommentView(Long id, String content, String anonymousName, Long questionId, Long parentCommentId,
+                       int upvotes, int downvotes, int replyCount, Instant createdAt) {
+        this.id = id;
+        this.content = content;
+        this.anonymousName = anonymousName;
+        this.questionId = questionId;
+        this.parentCommentId = parentCommentId;
+        this.upvotes = upvotes;
+        this.downvotes = downvotes;
+        this.replyCount = replyCount;
+        this.createdAt = createdAt;
+    }
+
+    // Expects user to be initialized or the caller to be inside a transaction
+    public static CommentView from(Comment comment) {
+        return new CommentView(
+                comment.getId(),
+                comment.getContent(),
+                comment.getUser() != null ? comment.getUser().getAnonymousName() : null,
+                comment.getQuestion() != null ? comment.getQuestion().getId() : null,
+                comment.getParentComment() != null ? comment.getParentComment().getId() : null,
+                comment.getUpvoteCount(),
+                comment.getDownvoteCount(),
+                comment.getReplyCount(),
+                comment.getCreatedAt()
+        );
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getContent() { return content; }
+    public String getAnonymousName() { return anonymousName; }
+    public Long getQuestionId() { return questionId; }
+    public Long getParentCommentId() { return parentCommentId; }
+    public int getUpvotes() { return upvotes; }
+    public int getDownvotes() { return downvotes; }
+    public int getReplyCount() { return replyCount; }
+    public Instant getCreatedAt() { return createdAt; }
+}
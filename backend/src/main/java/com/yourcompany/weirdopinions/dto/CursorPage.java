@@ -0,0 +1,27 @@
+package com.yourcompany.weirdopinions.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Keyset page: no total count, just the items and where to continue from (null on the last page)
+public class CursorPage<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Expects the query to have fetched size + 1 rows; the extra row only signals that more exist
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, FeedCursor> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPage<>(items, cursorOf.apply(items.get(size - 1)).encode());
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+}
@@ -0,0 +1,51 @@
+package com.yourcompany.weirdopinions.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+// Opaque keyset position on (createdAt, id); clients only ever echo back the encoded form
+public class FeedCursor {
+    // Sorts after every real row, so the first page uses the same keyset query as the rest
+    public static final FeedCursor START = new FeedCursor(Instant.parse("9999-12-31T23:59:59Z"), Long.MAX_VALUE);
+
+    // The same for oldest-first listings
+    public static final FeedCursor OLDEST = new FeedCursor(Instant.EPOCH, 0L);
+
+    private final Instant createdAt;
+    private final Long id;
+
+    public FeedCursor(Instant createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public Long getId() { return id; }
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + "." + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FeedCursor decode(String cursor) {
+        return decode(cursor, START);
+    }
+
+    public static FeedCursor decode(String cursor, FeedCursor start) {
+        if (cursor == null || cursor.isBlank()) {
+            return start;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int dot = raw.indexOf('.');
+            int colon = raw.indexOf(':');
+            Instant createdAt = Instant.ofEpochSecond(
+                    Long.parseLong(raw.substring(0, dot)),
+                    Long.parseLong(raw.substring(dot + 1, colon)));
+            return new FeedCursor(createdAt, Long.parseLong(raw.substring(colon + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.yourcompany.weirdopinions.dto;
+
+import com.yourcompany.weirdopinions.event.QuestionActivityEvent;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// Net change to one question since the subscriber's previous push; deltas from many events fold into one
+public class LiveUpdate {
+    private final Long questionId;
+    private int upDelta;
+    private int downDelta;
+    private int commentDelta;
+    private Map<Integer, Integer> pollDeltas;
+    private Map<Long, CommentVotes> commentVoteDeltas;
+    private boolean created;
+    private boolean updated;
+    private boolean deleted;
+
+    public LiveUpdate(Long questionId) {
+        this.questionId = questionId;
+    }
+
+    public void apply(QuestionActivityEvent event) {
+        switch (event.getType()) {
+            case CREATED -> created = true;
+            case UPDATED -> updated = true;
+            case DELETED -> deleted = true;
+            case VOTED -> {
+                upDelta += event.getUpDelta();
+                downDelta += event.getDownDelta();
+            }
+            case COMMENTED -> commentDelta += event.getCommentDelta();
+            case POLL_VOTED -> {
+                if (pollDeltas == null) {
+                    pollDeltas = new TreeMap<>();
+                }
+                if (event.getOptionIndex() >= 0) {
+                    pollDeltas.merge(event.getOptionIndex(), 1, Integer::sum);
+                }
+                if (event.getPreviousOptionIndex() >= 0) {
+                    pollDeltas.merge(event.getPreviousOptionIndex(), -1, Integer::sum);
+                }
+            }
+            case COMMENT_VOTED -> {
+                if (commentVoteDeltas == null) {
+                    commentVoteDeltas = new TreeMap<>();
+                }
+                commentVoteDeltas.computeIfAbsent(event.getCommentId(), id -> new CommentVotes())
+                        .add(event.getUpDelta(), event.getDownDelta());
+            }
+        }
+    }
+
+    // Getters
+    public Long getQuestionId() { return questionId; }
+    public int getUpDelta() { return upDelta; }
+    public int getDownDelta() { return downDelta; }
+    public int getCommentDelta() { return commentDelta; }
+    public Map<Integer, Integer> getPollDeltas() { return pollDeltas; }
+    public Map<Long, CommentVotes> getCommentVoteDeltas() { return commentVoteDeltas; }
+    public boolean isCreated() { return created; }
+    public boolean isUpdated() { return updated; }
+    public boolean isDeleted() { return deleted; }
+
+    // Net vote change on one comment of the question
+    public static class CommentVotes {
+        private int upDelta;
+        private int downDelta;
+
+        void add(int up, int down) {
+            upDelta += up;
+            downDelta += down;
+        }
+
+        public int getUpDelta() { return upDelta; }
+        public int getDownDelta() { return downDelta; }
+    }
+}
@@ -0,0 +1,24 @@
+package com.yourcompany.weirdopinions.dto;
+
+import com.yourcompany.weirdopinions.model.VoteType;
+
+import java.util.Map;
+
+// The caller's votes on the requested ids; ids without a vote are left out
+public class MyVotes {
+    private final Map<Long, VoteType> questionVotes;
+    private final Map<Long, VoteType> commentVotes;
+    private final Map<Long, Integer> pollOptions;
+
+    public MyVotes(Map<Long, VoteType> questionVotes, Map<Long, VoteType> commentVotes,
+                   Map<Long, Integer> pollOptions) {
+        this.questionVotes = questionVotes;
+        this.commentVotes = commentVotes;
+        this.pollOptions = pollOptions;
+    }
+
+    // Getters
+    public Map<Long, VoteType> getQuestionVotes() { return questionVotes; }
+    public Map<Long, VoteType> getCommentVotes() { return commentVotes; }
+    public Map<Long, Integer> getPollOptions() { return pollOptions; }
+}
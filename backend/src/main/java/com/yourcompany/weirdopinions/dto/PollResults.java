@@ -0,0 +1,23 @@
+package com.yourcompany.weirdopinions.dto;
+
+import java.util.List;
+
+public class PollResults {
+    private final Long questionId;
+    private final List<String> options;
+    private final long[] counts;
+    private final long totalVotes;
+
+    public PollResults(Long questionId, List<String> options, long[] counts, long totalVotes) {
+        this.questionId = questionId;
+        this.options = options;
+        this.counts = counts;
+        this.totalVotes = totalVotes;
+    }
+
+    // Getters
+    public Long getQuestionId() { return questionId; }
+    public List<String> getOptions() { return options; }
+    public long[] getCounts() { return counts; }
+    public long getTotalVotes() { return totalVotes; }
+}
@@ -0,0 +1,76 @@
+package com.yourcompany.weirdopinions.dto;
+
+import com.yourcompany.weirdopinions.model.Category;
+import com.yourcompany.weirdopinions.model.Question;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class QuestionDetail {
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final Category category;
+    private final String imageUrl;
+    private final String anonymousName;
+    private final boolean hasPoll;
+    private final List<String> pollOptions;
+    private final int upvotes;
+    private final int downvotes;
+    private final long commentCount;
+    private final Instant createdAt;
+    private final Instant updatedAt;
+
+    public QuestionDetail(Long id, String title, String description, Category category, String imageUrl,
+                          String anonymousName, boolean hasPoll, List<String> pollOptions, int upvotes,
+                          int downvotes, long commentCount, Instant createdAt, Instant updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.category = category;
+        this.imageUrl = imageUrl;
+        this.anonymousName = anonymousName;
+        this.hasPoll = hasPoll;
+        this.pollOptions = pollOptions;
+        this.upvotes = upvotes;
+        this.downvotes = downvotes;
+        this.commentCount = commentCount;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    // Expects user and pollOptions to be initialized; comments and votes are never touched
+    public static QuestionDetail from(Question question, long commentCount) {
+        return new QuestionDetail(
+                question.getId(),
+                question.getTitle(),
+                question.getDescription(),
+                question.getCategory(),
+                question.getImageUrl(),
+                question.getUser() != null ? question.getUser().getAnonymousName() : null,
+                question.isHasPoll(),
+                new ArrayList<>(question.getPollOptions()),
+                question.getUpvoteCount(),
+                question.getDownvoteCount(),
+                commentCount,
+                question.getCreatedAt(),
+                question.getUpdatedAt()
+        );
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public Category getCategory() { return category; }
+    public String getImageUrl() { return imageUrl; }
+    public String getAnonymousName() { return anonymousName; }
+    public boolean isHasPoll() { return hasPoll; }
+    public List<String> getPollOptions() { return pollOptions; }
+    public int getUpvotes() { return upvotes; }
+    public int getDownvotes() { return downvotes; }
+    public long getCommentCount() { return commentCount; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,96 @@
+package com.yourcompany.weirdopinions.dto;
+
+import com.yourcompany.weirdopinions.model.Category;
+
+import java.time.Instant;
+import java.util.Objects;
+
+// Feed row built directly by JPQL constructor expressions, never from a managed Question
+public class QuestionSummary {
+    public static final int SNIPPET_LENGTH = 200;
+
+    private final Long id;
+    private final String title;
+    private final String snippet;
+    private final Category category;
+    private final String imageUrl;
+    private final String anonymousName;
+    private final boolean hasPoll;
+    private final int upvotes;
+    private final int downvotes;
+    private final long commentCount;
+    private final Instant createdAt;
+
+    public QuestionSummary(Long id, String title, String description, Category category, String imageUrl,
+                           String anonymousName, boolean hasPoll, int upvotes, int downvotes,
+                           long commentCount, Instant createdAt) {
+        this.id = id;
+        this.title = title;
+        this.snippet = toSnippet(description);
+        this.category = category;
+        this.imageUrl = imageUrl;
+        this.anonymousName = anonymousName;
+        this.hasPoll = hasPoll;
+        this.upvotes = upvotes;
+        this.downvotes = downvotes;
+        this.commentCount = commentCount;
+        this.createdAt = createdAt;
+    }
+
+    private QuestionSummary(QuestionSummary source, int upvotes, int downvotes, long commentCount) {
+        this.id = source.id;
+        this.title = source.title;
+        this.snippet = source.snippet;
+        this.category = source.category;
+        this.imageUrl = source.imageUrl;
+        this.anonymousName = source.anonymousName;
+        this.hasPoll = source.hasPoll;
+        this.upvotes = upvotes;
+        this.downvotes = downvotes;
+        this.commentCount = commentCount;
+        this.createdAt = source.createdAt;
+    }
+
+    public QuestionSummary withCounts(int upvotes, int downvotes, long commentCount) {
+        return new QuestionSummary(this, upvotes, downvotes, commentCount);
+    }
+
+    public static String toSnippet(String description) {
+        if (description == null || description.length() <= SNIPPET_LENGTH) {
+            return description;
+        }
+        return description.substring(0, SNIPPET_LENGTH).trim() + "...";
+    }
+
+    // Value equality, so a rebuilt list can be compared with the one already published
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof QuestionSummary)) {
+            return false;
+        }
+        QuestionSummary other = (QuestionSummary) o;
+        return Objects.equals(id, other.id) && Objects.equals(title, other.title)
+                && Objects.equals(snippet, other.snippet) && category == other.category
+                && Objects.equals(imageUrl, other.imageUrl) && Objects.equals(anonymousName, other.anonymousName)
+                && hasPoll == other.hasPoll && upvotes == other.upvotes && downvotes == other.downvotes
+                && commentCount == other.commentCount && Objects.equals(createdAt, other.createdAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, upvotes, downvotes, commentCount);
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getSnippet() { return snippet; }
+    public Category getCategory() { return category; }
+    public String getImageUrl() { return imageUrl; }
+    public String getAnonymousName() { return anonymousName; }
+    public boolean isHasPoll() { return hasPoll; }
+    public int getUpvotes() { return upvotes; }
+    public int getDownvotes() { return downvotes; }
+    public long getCommentCount() { return commentCount; }
+    public Instant getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,47 @@
+package com.yourcompany.weirdopinions.dto;
+
+import com.yourcompany.weirdopinions.model.RoleName;
+import com.yourcompany.weirdopinions.model.User;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+// What the API exposes about a user: no password hash and none of the lazy collections
+public class UserSummary {
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final String anonymousName;
+    private final Set<RoleName> roles;
+    private final Instant createdAt;
+
+    public UserSummary(Long id, String username, String email, String anonymousName,
+                       Set<RoleName> roles, Instant createdAt) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.anonymousName = anonymousName;
+        this.roles = roles;
+        this.createdAt = createdAt;
+    }
+
+    public static UserSummary from(User user) {
+        return new UserSummary(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getAnonymousName(),
+                new HashSet<>(user.getRoles()),
+                user.getCreatedAt()
+        );
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getUsername() { return username; }
+    public String getEmail() { return email; }
+    public String getAnonymousName() { return anonymousName; }
+    public Set<RoleName> getRoles() { return roles; }
+    public Instant getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,82 @@
+package com.yourcompany.weirdopinions.event;
+
+import com.yourcompany.weirdopinions.model.Category;
+
+import java.time.Instant;
+
+// Published by the services inside their transaction; listeners react after commit
+public class QuestionActivityEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, VOTED, POLL_VOTED, COMMENTED, COMMENT_VOTED
+    }
+
+    private final Type type;
+    private final Long questionId;
+    private final Category category;
+    private final int upDelta;
+    private final int downDelta;
+    private final int commentDelta;
+    private final int optionIndex;
+    private final int previousOptionIndex;
+    private final Long commentId;
+    private final Instant occurredAt;
+
+    public QuestionActivityEvent(Type type, Long questionId, Category category, int upDelta, int downDelta) {
+        this(type, questionId, category, upDelta, downDelta, 0, -1, -1, null);
+    }
+
+    private QuestionActivityEvent(Type type, Long questionId, Category category, int upDelta, int downDelta,
+                                  int commentDelta, int optionIndex, int previousOptionIndex, Long commentId) {
+        this.type = type;
+        this.questionId = questionId;
+        this.category = category;
+        this.upDelta = upDelta;
+        this.downDelta = downDelta;
+        this.commentDelta = commentDelta;
+        this.optionIndex = optionIndex;
+        this.previousOptionIndex = previousOptionIndex;
+        this.commentId = commentId;
+        this.occurredAt = Instant.now();
+    }
+
+    public static QuestionActivityEvent of(Type type, Long questionId, Category category) {
+        return new QuestionActivityEvent(type, questionId, category, 0, 0);
+    }
+
+    // commentDelta is +1 for a new comment or reply, minus the removed subtree size for a delete
+    public static QuestionActivityEvent commented(Long questionId, Category category, int commentDelta) {
+        return new QuestionActivityEvent(Type.COMMENTED, questionId, category, 0, 0, commentDelta, -1, -1, null);
+    }
+
+    // previousOptionIndex is -1 for a first vote, otherwise the option the user moved away from
+    public static QuestionActivityEvent pollVoted(Long questionId, Category category, int optionIndex,
+                                                  int previousOptionIndex) {
+        return new QuestionActivityEvent(Type.POLL_VOTED, questionId, category, 0, 0, 0,
+                optionIndex, previousOptionIndex, null);
+    }
+
+    // The vote on optionIndex is gone without a replacement (its voter was deleted); optionIndex is -1
+    public static QuestionActivityEvent pollVoteWithdrawn(Long questionId, Category category, int optionIndex) {
+        return new QuestionActivityEvent(Type.POLL_VOTED, questionId, category, 0, 0, 0, -1, optionIndex, null);
+    }
+
+    // A vote on one of the question's comments; the deltas apply to that comment, not to the question
+    public static QuestionActivityEvent commentVoted(Long questionId, Category category, Long commentId,
+                                                     int upDelta, int downDelta) {
+        return new QuestionActivityEvent(Type.COMMENT_VOTED, questionId, category, upDelta, downDelta, 0, -1, -1,
+                commentId);
+    }
+
+    // Getters
+    public Type getType() { return type; }
+    public Long getQuestionId() { return questionId; }
+    public Category getCategory() { return category; }
+    public int getUpDelta() { return upDelta; }
+    public int getDownDelta() { return downDelta; }
+    public int getCommentDelta() { return commentDelta; }
+    public int getOptionIndex() { return optionIndex; }
+    public int getPreviousOptionIndex() { return previousOptionIndex; }
+    public Long getCommentId() { return commentId; }
+    public Instant getOccurredAt() { return occurredAt; }
+}
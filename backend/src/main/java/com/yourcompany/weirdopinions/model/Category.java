@@ -0,0 +1,15 @@
+package com.yourcompany.weirdopinions.model;
+
+public enum Category {
+    SOCIAL_NORMS,
+    PERSONAL_HABITS,
+    QUIRKY_THOUGHTS,
+    WEIRD_FOOD_COMBOS,
+    HOME_LIFE,
+    CRINGE_CONFESSIONS,
+    BATHROOM_ETIQUETTE,
+    PET_PECULIARITIES,
+    PUBLIC_TRANSPORT_MYSTERIES,
+    FASHION_CHOICES,
+    OTHER
+}
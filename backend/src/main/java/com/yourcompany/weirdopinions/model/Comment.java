@@ -1,95 +1,132 @@
-package com.yourcompany.weirdopinions.model;
-
-import jakarta.persistence.*;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Size;
-import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
-
-import java.time.Instant;
-import java.util.HashSet;
-import java.util.Set;
-
-@Entity
-@Table(name = "comments")
-@EntityListeners(AuditingEntityListener.class)
-public class Comment {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @NotBlank
-    @Size(max = 1000)
-    private String content;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id")
-    private User user;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "question_id")
-    private Question question;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "parent_comment_id")
-    private Comment parentComment;
-
-    @OneToMany(mappedBy = "parentComment", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private Set<Comment> replies = new HashSet<>();
-
-    @OneToMany(mappedBy = "comment", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private Set<Vote> votes = new HashSet<>();
-
-    @CreatedDate
-    private Instant createdAt;
-
-    @LastModifiedDate
-    private Instant updatedAt;
-
-    // Constructors
-    public Comment() {}
-
-    public Comment(String content, User user, Question question) {
-        this.content = content;
-        this.user = user;
-        this.question = question;
-    }
-
-    // Getters and Setters
-    public Long getId() { return id; }
-    public void setId(Long id) { this.id = id; }
-
-    public String getContent() { return content; }
-    public void setContent(String content) { this.content = content; }
-
-    public User getUser() { return user; }
-    public void setUser(User user) { this.user = user; }
-
-    public Question getQuestion() { return question; }
-    public void setQuestion(Question question) { this.question = question; }
-
-    public Comment getParentComment() { return parentComment; }
-    public void setParentComment(Comment parentComment) { this.parentComment = parentComment; }
-
-    public Set<Comment> getReplies() { return replies; }
-    public void setReplies(Set<Comment> replies) { this.replies = replies; }
-
-    public Set<Vote> getVotes() { return votes; }
-    public void setVotes(Set<Vote> votes) { this.votes = votes; }
-
-    public Instant getCreatedAt() { return createdAt; }
-    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
-
-    public Instant getUpdatedAt() { return updatedAt; }
-    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
-
-    // Helper methods
-    public int getUpvotes() {
-        return (int) votes.stream().filter(vote -> vote.getVoteType() == VoteType.UPVOTE).count();
-    }
-
-    public int getDownvotes() {
-        return (int) votes.stream().filter(vote -> vote.getVoteType() == VoteType.DOWNVOTE).count();
-    }
+package com.yourcompany.weirdopinions.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+@Entity
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_user_created_at_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_comments_question_created_at_id", columnList = "question_id, created_at, id"),
+        @Index(name = "idx_comments_question_depth_created_at_id", columnList = "question_id, depth, created_at, id"),
+        @Index(name = "idx_comments_root_depth", columnList = "root_comment_id, depth"),
+        @Index(name = "idx_comments_parent", columnList = "parent_comment_id")
+})
+@EntityListeners(AuditingEntityListener.class)
+public class Comment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Size(max = 1000)
+    private String content;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "question_id")
+    private Question question;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_comment_id")
+    private Comment parentComment;
+
+    // Thread root (null on top-level comments) and distance from it, so a whole thread loads in one query
+    @Column(name = "root_comment_id")
+    private Long rootCommentId;
+
+    @Column(nullable = false)
+    private int depth = 0;
+
+    @Column(nullable = false)
+    private int replyCount = 0;
+
+    @OneToMany(mappedBy = "parentComment", fetch = FetchType.LAZY)
+    private Set<Comment> replies = new HashSet<>();
+
+    @OneToMany(mappedBy = "comment", fetch = FetchType.LAZY)
+    private Set<Vote> votes = new HashSet<>();
+
+    @Column(nullable = false)
+    private int upvoteCount = 0;
+
+    @Column(nullable = false)
+    private int downvoteCount = 0;
+
+    @CreatedDate
+    private Instant createdAt;
+
+    @LastModifiedDate
+    private Instant updatedAt;
+
+    // Constructors
+    public Comment() {}
+
+    public Comment(String content, User user, Question question) {
+        this.content = content;
+        this.user = user;
+        this.question = question;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public Question getQuestion() { return question; }
+    public void setQuestion(Question question) { this.question = question; }
+
+    public Comment getParentComment() { return parentComment; }
+    public void setParentComment(Comment parentComment) { this.parentComment = parentComment; }
+
+    public Long getRootCommentId() { return rootCommentId; }
+    public void setRootCommentId(Long rootCommentId) { this.rootCommentId = rootCommentId; }
+
+    public int getDepth() { return depth; }
+    public void setDepth(int depth) { this.depth = depth; }
+
+    public int getReplyCount() { return replyCount; }
+    public void setReplyCount(int replyCount) { this.replyCount = replyCount; }
+
+    public Set<Comment> getReplies() { return replies; }
+    public void setReplies(Set<Comment> replies) { this.replies = replies; }
+
+    public Set<Vote> getVotes() { return votes; }
+    public void setVotes(Set<Vote> votes) { this.votes = votes; }
+
+    public int getUpvoteCount() { return upvoteCount; }
+    public void setUpvoteCount(int upvoteCount) { this.upvoteCount = upvoteCount; }
+
+    public int getDownvoteCount() { return downvoteCount; }
+    public void setDownvoteCount(int downvoteCount) { this.downvoteCount = downvoteCount; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    // Helper methods (backed by the denormalized counters so the votes collection stays unloaded)
+    public int getUpvotes() {
+        return upvoteCount;
+    }
+
+    public int getDownvotes() {
+        return downvoteCount;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.yourcompany.weirdopinions.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "poll_votes", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_poll_votes_user_question", columnNames = {"user_id", "question_id"})
+}, indexes = {
+        @Index(name = "idx_poll_votes_question_option", columnList = "question_id, option_index")
+})
+@EntityListeners(AuditingEntityListener.class)
+public class PollVote {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "option_index", nullable = false)
+    private int optionIndex;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "question_id")
+    private Question question;
+
+    @CreatedDate
+    private Instant createdAt;
+
+    // Constructors
+    public PollVote() {}
+
+    public PollVote(int optionIndex, User user, Question question) {
+        this.optionIndex = optionIndex;
+        this.user = user;
+        this.question = question;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public int getOptionIndex() { return optionIndex; }
+    public void setOptionIndex(int optionIndex) { this.optionIndex = optionIndex; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public Question getQuestion() { return question; }
+    public void setQuestion(Question question) { this.question = question; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -1,120 +1,142 @@
-package com.yourcompany.weirdopinions.model;
-
-import jakarta.persistence.*;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Size;
-import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
-
-import java.time.Instant;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-
-@Entity
-@Table(name = "questions")
-@EntityListeners(AuditingEntityListener.class)
-public class Question {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @NotBlank
-    @Size(max = 500)
-    private String title;
-
-    @Size(max = 2000)
-    private String description;
-
-    @Enumerated(EnumType.STRING)
-    private Category category;
-
-    private String imageUrl;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id")
-    private User user;
-
-    @OneToMany(mappedBy = "question", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private Set<Comment> comments = new HashSet<>();
-
-    @OneToMany(mappedBy = "question", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private Set<Vote> votes = new HashSet<>();
-
-    @ElementCollection
-    @CollectionTable(name = "poll_options", joinColumns = @JoinColumn(name = "question_id"))
-    @Column(name = "option_text")
-    private List<String> pollOptions = new ArrayList<>();
-
-    @OneToMany(mappedBy = "question", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private Set<PollVote> pollVotes = new HashSet<>();
-
-    private boolean hasPoll = false;
-
-    @CreatedDate
-    private Instant createdAt;
-
-    @LastModifiedDate
-    private Instant updatedAt;
-
-    // Constructors
-    public Question() {}
-
-    public Question(String title, String description, Category category, User user) {
-        this.title = title;
-        this.description = description;
-        this.category = category;
-        this.user = user;
-    }
-
-    // Getters and Setters
-    public Long getId() { return id; }
-    public void setId(Long id) { this.id = id; }
-
-    public String getTitle() { return title; }
-    public void setTitle(String title) { this.title = title; }
-
-    public String getDescription() { return description; }
-    public void setDescription(String description) { this.description = description; }
-
-    public Category getCategory() { return category; }
-    public void setCategory(Category category) { this.category = category; }
-
-    public String getImageUrl() { return imageUrl; }
-    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
-
-    public User getUser() { return user; }
-    public void setUser(User user) { this.user = user; }
-
-    public Set<Comment> getComments() { return comments; }
-    public void setComments(Set<Comment> comments) { this.comments = comments; }
-
-    public Set<Vote> getVotes() { return votes; }
-    public void setVotes(Set<Vote> votes) { this.votes = votes; }
-
-    public List<String> getPollOptions() { return pollOptions; }
-    public void setPollOptions(List<String> pollOptions) { this.pollOptions = pollOptions; }
-
-    public Set<PollVote> getPollVotes() { return pollVotes; }
-    public void setPollVotes(Set<PollVote> pollVotes) { this.pollVotes = pollVotes; }
-
-    public boolean isHasPoll() { return hasPoll; }
-    public void setHasPoll(boolean hasPoll) { this.hasPoll = hasPoll; }
-
-    public Instant getCreatedAt() { return createdAt; }
-    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
-
-    public Instant getUpdatedAt() { return updatedAt; }
-    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
-
-    // Helper methods
-    public int getUpvotes() {
-        return (int) votes.stream().filter(vote -> vote.getVoteType() == VoteType.UPVOTE).count();
-    }
-
-    public int getDownvotes() {
-        return (int) votes.stream().filter(vote -> vote.getVoteType() == VoteType.DOWNVOTE).count();
-    }
+package com.yourcompany.weirdopinions.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Entity
+@Table(name = "questions", indexes = {
+        @Index(name = "idx_questions_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_questions_category_created_at_id", columnList = "category, created_at, id"),
+        @Index(name = "idx_questions_user_created_at_id", columnList = "user_id, created_at, id")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "questions")
+public class Question {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Size(max = 500)
+    private String title;
+
+    @Size(max = 2000)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private Category category;
+
+    private String imageUrl;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    // Not cascaded: children are removed with set-based deletes by BulkDeleteService
+    @OneToMany(mappedBy = "question", fetch = FetchType.LAZY)
+    private Set<Comment> comments = new HashSet<>();
+
+    @OneToMany(mappedBy = "question", fetch = FetchType.LAZY)
+    private Set<Vote> votes = new HashSet<>();
+
+    @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "questions.pollOptions")
+    @CollectionTable(name = "poll_options", joinColumns = @JoinColumn(name = "question_id"))
+    @Column(name = "option_text")
+    private List<String> pollOptions = new ArrayList<>();
+
+    @OneToMany(mappedBy = "question", fetch = FetchType.LAZY)
+    private Set<PollVote> pollVotes = new HashSet<>();
+
+    private boolean hasPoll = false;
+
+    @Column(nullable = false)
+    private int upvoteCount = 0;
+
+    @Column(nullable = false)
+    private int downvoteCount = 0;
+
+    @CreatedDate
+    private Instant createdAt;
+
+    @LastModifiedDate
+    private Instant updatedAt;
+
+    // Constructors
+    public Question() {}
+
+    public Question(String title, String description, Category category, User user) {
+        this.title = title;
+        this.description = description;
+        this.category = category;
+        this.user = user;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public Category getCategory() { return category; }
+    public void setCategory(Category category) { this.category = category; }
+
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public Set<Comment> getComments() { return comments; }
+    public void setComments(Set<Comment> comments) { this.comments = comments; }
+
+    public Set<Vote> getVotes() { return votes; }
+    public void setVotes(Set<Vote> votes) { this.votes = votes; }
+
+    public List<String> getPollOptions() { return pollOptions; }
+    public void setPollOptions(List<String> pollOptions) { this.pollOptions = pollOptions; }
+
+    public Set<PollVote> getPollVotes() { return pollVotes; }
+    public void setPollVotes(Set<PollVote> pollVotes) { this.pollVotes = pollVotes; }
+
+    public boolean isHasPoll() { return hasPoll; }
+    public void setHasPoll(boolean hasPoll) { this.hasPoll = hasPoll; }
+
+    public int getUpvoteCount() { return upvoteCount; }
+    public void setUpvoteCount(int upvoteCount) { this.upvoteCount = upvoteCount; }
+
+    public int getDownvoteCount() { return downvoteCount; }
+    public void setDownvoteCount(int downvoteCount) { this.downvoteCount = downvoteCount; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    // Helper methods (backed by the denormalized counters so the votes collection stays unloaded)
+    public int getUpvotes() {
+        return upvoteCount;
+    }
+
+    public int getDownvotes() {
+        return downvoteCount;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.yourcompany.weirdopinions.model;
+
+public enum RoleName {
+    ROLE_USER,
+    ROLE_ADMIN
+}
@@ -0,0 +1,75 @@
+package com.yourcompany.weirdopinions.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "votes", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_votes_user_question", columnNames = {"user_id", "question_id"}),
+        @UniqueConstraint(name = "uk_votes_user_comment", columnNames = {"user_id", "comment_id"})
+}, indexes = {
+        @Index(name = "idx_votes_question", columnList = "question_id"),
+        @Index(name = "idx_votes_comment", columnList = "comment_id")
+})
+@EntityListeners(AuditingEntityListener.class)
+public class Vote {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "vote_type", nullable = false)
+    private VoteType voteType;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "question_id")
+    private Question question;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "comment_id")
+    private Comment comment;
+
+    @CreatedDate
+    private Instant createdAt;
+
+    // Constructors
+    public Vote() {}
+
+    public Vote(VoteType voteType, User user, Question question) {
+        this.voteType = voteType;
+        this.user = user;
+        this.question = question;
+    }
+
+    public Vote(VoteType voteType, User user, Comment comment) {
+        this.voteType = voteType;
+        this.user = user;
+        this.comment = comment;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public VoteType getVoteType() { return voteType; }
+    public void setVoteType(VoteType voteType) { this.voteType = voteType; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public Question getQuestion() { return question; }
+    public void setQuestion(Question question) { this.question = question; }
+
+    public Comment getComment() { return comment; }
+    public void setComment(Comment comment) { this.comment = comment; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
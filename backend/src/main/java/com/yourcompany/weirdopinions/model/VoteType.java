@@ -0,0 +1,6 @@
+package com.yourcompany.weirdopinions.model;
+
+public enum VoteType {
+    UPVOTE,
+    DOWNVOTE
+}
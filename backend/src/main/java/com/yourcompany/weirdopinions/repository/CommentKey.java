@@ -0,0 +1,10 @@
+package com.yourcompany.weirdopinions.repository;
+
+import com.yourcompany.weirdopinions.model.Category;
+
+public interface CommentKey {
+    Long getId();
+    int getDepth();
+    Long getQuestionId();
+    Category getCategory();
+}
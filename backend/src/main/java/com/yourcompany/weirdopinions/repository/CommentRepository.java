@@ -0,0 +1,118 @@
+package com.yourcompany.weirdopinions.repository;
+
+import com.yourcompany.weirdopinions.dto.CommentView;
+import com.yourcompany.weirdopinions.model.Comment;
+import com.yourcompany.weirdopinions.model.User;
+import com.yourcompany.weirdopinions.model.VoteType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    String VIEW_SELECT = "SELECT new com.yourcompany.weirdopinions.dto.CommentView(" +
+            "c.id, c.content, u.anonymousName, c.question.id, p.id, c.upvoteCount, c.downvoteCount, c.replyCount, c.createdAt) " +
+            "FROM Comment c LEFT JOIN c.user u LEFT JOIN c.parentComment p ";
+
+    @Query(VIEW_SELECT + "WHERE c.question.id = :questionId ORDER BY c.createdAt ASC")
+    List<CommentView> findViewsByQuestionId(@Param("questionId") Long questionId);
+
+    @Query(VIEW_SELECT + "WHERE c.parentComment.id = :parentCommentId ORDER BY c.createdAt ASC")
+    List<CommentView> findViewsByParentCommentId(@Param("parentCommentId") Long parentCommentId);
+
+    // Top-level comments of a question, oldest first
+    @Query(VIEW_SELECT + "WHERE c.question.id = :questionId AND c.depth = 0 AND " +
+           "c.createdAt >= :createdAt AND (c.createdAt > :createdAt OR c.id > :id) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentView> findThreadRootsAfter(@Param("questionId") Long questionId, @Param("createdAt") Instant createdAt,
+                                           @Param("id") Long id, Pageable pageable);
+
+    // At most perThread replies under each root, shallowest first, so a returned reply's parent is always
+    // returned too and each parent's children are a prefix of them in (createdAt, id) order
+    @Query(VIEW_SELECT + "WHERE c.id IN (SELECT r.id FROM (" +
+           "SELECT t.id AS id, ROW_NUMBER() OVER (PARTITION BY t.rootCommentId " +
+           "ORDER BY t.depth ASC, t.createdAt ASC, t.id ASC) AS position " +
+           "FROM Comment t WHERE t.rootCommentId IN :rootIds AND t.depth <= :maxDepth) r " +
+           "WHERE r.position <= :perThread) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentView> findThreadReplies(@Param("rootIds") Collection<Long> rootIds, @Param("maxDepth") int maxDepth,
+                                        @Param("perThread") int perThread);
+
+    // Direct replies of a comment, oldest first
+    @Query(VIEW_SELECT + "WHERE c.parentComment.id = :parentCommentId AND " +
+           "c.createdAt >= :createdAt AND (c.createdAt > :createdAt OR c.id > :id) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentView> findRepliesAfter(@Param("parentCommentId") Long parentCommentId, @Param("createdAt") Instant createdAt,
+                                       @Param("id") Long id, Pageable pageable);
+
+    @Query(value = VIEW_SELECT + "WHERE c.user = :user ORDER BY c.createdAt DESC",
+           countQuery = "SELECT COUNT(c) FROM Comment c WHERE c.user = :user")
+    Page<CommentView> findViewsByUser(@Param("user") User user, Pageable pageable);
+
+    // On the user_id column rather than the joined users row, so idx_comments_user_created_at_id applies
+    @Query(VIEW_SELECT + "WHERE c.user.id = :userId AND " +
+           "c.createdAt <= :createdAt AND (c.createdAt < :createdAt OR c.id < :id) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentView> findViewsByUserBefore(@Param("userId") Long userId, @Param("createdAt") Instant createdAt,
+                                            @Param("id") Long id, Pageable pageable);
+
+    long countByQuestionId(Long questionId);
+
+    // Vote counters are adjusted in the database so concurrent voters never lose an update. Native and
+    // synchronized only on the votes table so it does not invalidate cached feed queries over comments.
+    @Modifying
+    @Query(value = "UPDATE comments SET upvote_count = upvote_count + :upDelta, " +
+           "downvote_count = downvote_count + :downDelta WHERE id = :id", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "votes"))
+    int adjustVoteCounts(@Param("id") Long id, @Param("upDelta") int upDelta, @Param("downDelta") int downDelta);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount + :delta WHERE c.id = :id")
+    int adjustReplyCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = (SELECT COUNT(r) FROM Comment r WHERE r.parentComment = c)")
+    int reconcileReplyCounts();
+
+    // Bulk deletion: ids only, so removing a large thread never loads Comment entities
+    @Query("SELECT c.id FROM Comment c WHERE c.parentComment.id IN :parentIds")
+    List<Long> findReplyIds(@Param("parentIds") Collection<Long> parentIds);
+
+    @Query("SELECT c.parentComment.id FROM Comment c WHERE c.id IN :ids AND c.parentComment IS NOT NULL")
+    List<Long> findParentIds(@Param("ids") Collection<Long> ids);
+
+    // A user's comments shallowest first; comments sharing a depth are never in each other's subtree
+    @Query("SELECT c.id AS id, c.depth AS depth, q.id AS questionId, q.category AS category " +
+           "FROM Comment c JOIN c.question q WHERE c.user.id = :userId " +
+           "ORDER BY c.depth ASC, c.id ASC")
+    List<CommentKey> findKeysByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT MAX(c.depth) FROM Comment c WHERE c.question.id IN :questionIds")
+    Integer findMaxDepth(@Param("questionIds") Collection<Long> questionIds);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.question.id IN :questionIds AND c.depth = :depth")
+    int deleteByQuestionIdsAndDepth(@Param("questionIds") Collection<Long> questionIds, @Param("depth") int depth);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Comment c SET " +
+           "c.upvoteCount = (SELECT COUNT(v) FROM Vote v WHERE v.comment = c AND v.voteType = :upvote), " +
+           "c.downvoteCount = (SELECT COUNT(v) FROM Vote v WHERE v.comment = c AND v.voteType = :downvote)")
+    int reconcileVoteCounts(@Param("upvote") VoteType upvote, @Param("downvote") VoteType downvote);
+}
@@ -0,0 +1,6 @@
+package com.yourcompany.weirdopinions.repository;
+
+public interface PollOptionCount {
+    int getOptionIndex();
+    long getVotes();
+}
@@ -0,0 +1,6 @@
+package com.yourcompany.weirdopinions.repository;
+
+public interface PollOptionRow {
+    Long getQuestionId();
+    String getOptionText();
+}
@@ -0,0 +1,9 @@
+package com.yourcompany.weirdopinions.repository;
+
+import com.yourcompany.weirdopinions.model.Category;
+
+public interface PollVoteKey {
+    Long getQuestionId();
+    Category getCategory();
+    int getOptionIndex();
+}
@@ -0,0 +1,44 @@
+package com.yourcompany.weirdopinions.repository;
+
+import com.yourcompany.weirdopinions.model.PollVote;
+import com.yourcompany.weirdopinions.model.Question;
+import com.yourcompany.weirdopinions.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PollVoteRepository extends JpaRepository<PollVote, Long> {
+
+    Optional<PollVote> findByUserAndQuestion(User user, Question question);
+
+    @Query("SELECT pv.optionIndex AS optionIndex, COUNT(pv) AS votes FROM PollVote pv " +
+           "WHERE pv.question.id = :questionId GROUP BY pv.optionIndex")
+    List<PollOptionCount> countVotesByOption(@Param("questionId") Long questionId);
+
+    @Query("SELECT pv.question.id AS questionId, pv.optionIndex AS optionIndex FROM PollVote pv " +
+           "WHERE pv.user.id = :userId AND pv.question.id IN :questionIds")
+    List<UserPollVoteRow> findUserPollVotes(@Param("userId") Long userId,
+                                            @Param("questionIds") Collection<Long> questionIds);
+
+    @Modifying
+    @Query("DELETE FROM PollVote pv WHERE pv.question.id IN :questionIds")
+    int deleteByQuestionIds(@Param("questionIds") Collection<Long> questionIds);
+
+    // At most one row per question (uk_poll_votes_user_question)
+    @Query("SELECT pv.question.id AS questionId, q.category AS category, pv.optionIndex AS optionIndex " +
+           "FROM PollVote pv JOIN pv.question q WHERE pv.user.id = :userId ORDER BY pv.question.id ASC")
+    List<PollVoteKey> findKeysByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM PollVote pv WHERE pv.user.id = :userId AND pv.question.id IN :questionIds")
+    int deleteByUserIdAndQuestionIds(@Param("userId") Long userId,
+                                     @Param("questionIds") Collection<Long> questionIds);
+}
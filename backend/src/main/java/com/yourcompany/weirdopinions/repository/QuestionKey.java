@@ -0,0 +1,8 @@
+package com.yourcompany.weirdopinions.repository;
+
+import com.yourcompany.weirdopinions.model.Category;
+
+public interface QuestionKey {
+    Long getId();
+    Category getCategory();
+}
@@ -0,0 +1,132 @@
+package com.yourcompany.weirdopinions.repository;
+
+import com.yourcompany.weirdopinions.dto.QuestionSummary;
+import com.yourcompany.weirdopinions.model.Category;
+import com.yourcompany.weirdopinions.model.Question;
+import com.yourcompany.weirdopinions.model.User;
+import com.yourcompany.weirdopinions.model.VoteType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface QuestionRepository extends JpaRepository<Question, Long> {
+
+    String SUMMARY_SELECT = "SELECT new com.yourcompany.weirdopinions.dto.QuestionSummary(" +
+            "q.id, q.title, q.description, q.category, q.imageUrl, u.anonymousName, q.hasPoll, " +
+            "q.upvoteCount, q.downvoteCount, SIZE(q.comments), q.createdAt) " +
+            "FROM Question q LEFT JOIN q.user u ";
+
+    String SEARCH_CONDITION = "LOWER(q.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(q.description) LIKE LOWER(CONCAT('%', :keyword, '%'))";
+
+    // A range on createdAt plus the id tie-break, so the planner can seek the (..., created_at, id) indexes;
+    // the equivalent "createdAt < :c OR (createdAt = :c AND id < :id)" makes H2 scan the table
+    String KEYSET_CONDITION = "q.createdAt <= :createdAt AND (q.createdAt < :createdAt OR q.id < :id)";
+
+    @EntityGraph(attributePaths = {"user", "pollOptions"})
+    Optional<Question> findWithDetailsById(Long id);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.feeds")})
+    // Public feed pages go through the query cache (region query.feeds). JPA writes to questions or
+    // comments invalidate them through Hibernate; native counter updates through EntityCacheService.
+    @Query(value = SUMMARY_SELECT + "ORDER BY q.createdAt DESC",
+           countQuery = "SELECT COUNT(q) FROM Question q")
+    Page<QuestionSummary> findSummaries(Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.feeds")})
+    @Query(value = SUMMARY_SELECT + "WHERE q.category = :category ORDER BY q.createdAt DESC",
+           countQuery = "SELECT COUNT(q) FROM Question q WHERE q.category = :category")
+    Page<QuestionSummary> findSummariesByCategory(@Param("category") Category category, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE q.user = :user ORDER BY q.createdAt DESC",
+           countQuery = "SELECT COUNT(q) FROM Question q WHERE q.user = :user")
+    Page<QuestionSummary> findSummariesByUser(@Param("user") User user, Pageable pageable);
+
+    // Keyset feeds: callers pass PageRequest.of(0, size + 1) so the extra row tells them whether more exist
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.feeds")})
+    @Query(SUMMARY_SELECT + "WHERE " + KEYSET_CONDITION + " ORDER BY q.createdAt DESC, q.id DESC")
+    List<QuestionSummary> findSummariesBefore(@Param("createdAt") Instant createdAt, @Param("id") Long id,
+                                              Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.feeds")})
+    @Query(SUMMARY_SELECT + "WHERE q.category = :category AND " + KEYSET_CONDITION +
+           " ORDER BY q.createdAt DESC, q.id DESC")
+    List<QuestionSummary> findSummariesByCategoryBefore(@Param("category") Category category,
+                                                        @Param("createdAt") Instant createdAt,
+                                                        @Param("id") Long id, Pageable pageable);
+
+    // Filters on the user_id column; "q.user = :user" compares the joined users row, which hides
+    // idx_questions_user_created_at_id from the planner
+    @Query(SUMMARY_SELECT + "WHERE q.user.id = :userId AND " + KEYSET_CONDITION +
+           " ORDER BY q.createdAt DESC, q.id DESC")
+    List<QuestionSummary> findSummariesByUserBefore(@Param("userId") Long userId, @Param("createdAt") Instant createdAt,
+                                                    @Param("id") Long id, Pageable pageable);
+
+    long countByCategory(Category category);
+
+    @Query(SUMMARY_SELECT + "WHERE q.id IN :ids")
+    List<QuestionSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT q.id AS id, q.category AS category, q.upvoteCount AS upvoteCount, " +
+           "q.downvoteCount AS downvoteCount, SIZE(q.comments) AS commentCount, q.createdAt AS createdAt " +
+           "FROM Question q WHERE q.createdAt >= :since")
+    List<TrendingSeed> findTrendingSeeds(@Param("since") Instant since);
+
+    @Query(value = SUMMARY_SELECT + "WHERE " + SEARCH_CONDITION + " ORDER BY q.createdAt DESC",
+           countQuery = "SELECT COUNT(q) FROM Question q WHERE " + SEARCH_CONDITION)
+    Page<QuestionSummary> searchSummaries(@Param("keyword") String keyword, Pageable pageable);
+
+    // Streams the search corpus in id order without materializing Question entities
+    @Query("SELECT q.id AS id, q.title AS title, q.description AS description " +
+           "FROM Question q WHERE q.id > :afterId ORDER BY q.id ASC")
+    List<SearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT q.id AS questionId, o AS optionText FROM Question q JOIN q.pollOptions o WHERE q.id IN :ids")
+    List<PollOptionRow> findPollOptionRows(@Param("ids") Collection<Long> ids);
+
+    // Bulk deletion: callers remove votes, poll votes and comments first (see BulkDeleteService)
+    @Query("SELECT q.id AS id, q.category AS category FROM Question q WHERE q.user.id = :userId ORDER BY q.id ASC")
+    List<QuestionKey> findKeysByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Modifying
+    @Query(value = "DELETE FROM poll_options WHERE question_id IN (:ids)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "poll_options"))
+    int deletePollOptionsByQuestionIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Question q WHERE q.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    // Vote counters are adjusted in the database so concurrent voters never lose an update. Native and
+    // synchronized only on the votes table, so Hibernate does not drop the whole questions cache region;
+    // EntityCacheService evicts just this question and the feed queries once the VOTED event commits.
+    @Modifying
+    @Query(value = "UPDATE questions SET upvote_count = upvote_count + :upDelta, " +
+           "downvote_count = downvote_count + :downDelta WHERE id = :id", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "votes"))
+    int adjustVoteCounts(@Param("id") Long id, @Param("upDelta") int upDelta, @Param("downDelta") int downDelta);
+
+    @Modifying
+    @Query("UPDATE Question q SET " +
+           "q.upvoteCount = (SELECT COUNT(v) FROM Vote v WHERE v.question = q AND v.voteType = :upvote), " +
+           "q.downvoteCount = (SELECT COUNT(v) FROM Vote v WHERE v.question = q AND v.voteType = :downvote)")
+    int reconcileVoteCounts(@Param("upvote") VoteType upvote, @Param("downvote") VoteType downvote);
+}
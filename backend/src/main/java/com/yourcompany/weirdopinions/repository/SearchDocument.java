@@ -0,0 +1,7 @@
+package com.yourcompany.weirdopinions.repository;
+
+public interface SearchDocument {
+    Long getId();
+    String getTitle();
+    String getDescription();
+}
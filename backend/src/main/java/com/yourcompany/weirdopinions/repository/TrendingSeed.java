@@ -0,0 +1,14 @@
+package com.yourcompany.weirdopinions.repository;
+
+import com.yourcompany.weirdopinions.model.Category;
+
+import java.time.Instant;
+
+public interface TrendingSeed {
+    Long getId();
+    Category getCategory();
+    int getUpvoteCount();
+    int getDownvoteCount();
+    int getCommentCount();
+    Instant getCreatedAt();
+}
@@ -0,0 +1,7 @@
+package com.yourcompany.weirdopinions.repository;
+
+public interface UserKey {
+    Long getId();
+    String getUsername();
+    String getEmail();
+}
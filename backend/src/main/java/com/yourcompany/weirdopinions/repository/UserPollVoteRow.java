@@ -0,0 +1,6 @@
+package com.yourcompany.weirdopinions.repository;
+
+public interface UserPollVoteRow {
+    Long getQuestionId();
+    int getOptionIndex();
+}
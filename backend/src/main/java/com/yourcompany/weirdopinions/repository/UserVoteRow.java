@@ -0,0 +1,8 @@
+package com.yourcompany.weirdopinions.repository;
+
+import com.yourcompany.weirdopinions.model.VoteType;
+
+public interface UserVoteRow {
+    Long getTargetId();
+    VoteType getVoteType();
+}
@@ -0,0 +1,71 @@
+package com.yourcompany.weirdopinions.repository;
+
+import com.yourcompany.weirdopinions.model.Comment;
+import com.yourcompany.weirdopinions.model.Question;
+import com.yourcompany.weirdopinions.model.User;
+import com.yourcompany.weirdopinions.model.Vote;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VoteRepository extends JpaRepository<Vote, Long> {
+
+    Optional<Vote> findByUserAndQuestion(User user, Question question);
+
+    Optional<Vote> findByUserAndComment(User user, Comment comment);
+
+    // One range scan of idx_votes_user_question for a whole page of questions
+    @Query("SELECT v.question.id AS targetId, v.voteType AS voteType FROM Vote v " +
+           "WHERE v.user.id = :userId AND v.question.id IN :questionIds")
+    List<UserVoteRow> findQuestionVotes(@Param("userId") Long userId,
+                                        @Param("questionIds") Collection<Long> questionIds);
+
+    @Query("SELECT v.comment.id AS targetId, v.voteType AS voteType FROM Vote v " +
+           "WHERE v.user.id = :userId AND v.comment.id IN :commentIds")
+    List<UserVoteRow> findCommentVotes(@Param("userId") Long userId,
+                                       @Param("commentIds") Collection<Long> commentIds);
+
+    @Modifying
+    @Query("DELETE FROM Vote v WHERE v.question.id IN :questionIds")
+    int deleteByQuestionIds(@Param("questionIds") Collection<Long> questionIds);
+
+    @Modifying
+    @Query("DELETE FROM Vote v WHERE v.comment.id IN (SELECT c.id FROM Comment c WHERE c.question.id IN :questionIds)")
+    int deleteCommentVotesByQuestionIds(@Param("questionIds") Collection<Long> questionIds);
+
+    @Modifying
+    @Query("DELETE FROM Vote v WHERE v.comment.id IN :commentIds")
+    int deleteByCommentIds(@Param("commentIds") Collection<Long> commentIds);
+
+    // A user's votes grouped per question, for taking them back out of the counters before deleting them
+    @Query("SELECT v.question.id AS targetId, v.question.id AS questionId, q.category AS category, " +
+           "SUM(CASE WHEN v.voteType = com.yourcompany.weirdopinions.model.VoteType.UPVOTE THEN 1 ELSE 0 END) AS upvotes, " +
+           "SUM(CASE WHEN v.voteType = com.yourcompany.weirdopinions.model.VoteType.DOWNVOTE THEN 1 ELSE 0 END) AS downvotes " +
+           "FROM Vote v JOIN v.question q WHERE v.user.id = :userId " +
+           "GROUP BY v.question.id, q.category ORDER BY v.question.id ASC")
+    List<VoteTally> tallyQuestionVotesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT v.comment.id AS targetId, q.id AS questionId, q.category AS category, " +
+           "SUM(CASE WHEN v.voteType = com.yourcompany.weirdopinions.model.VoteType.UPVOTE THEN 1 ELSE 0 END) AS upvotes, " +
+           "SUM(CASE WHEN v.voteType = com.yourcompany.weirdopinions.model.VoteType.DOWNVOTE THEN 1 ELSE 0 END) AS downvotes " +
+           "FROM Vote v JOIN v.comment c JOIN c.question q WHERE v.user.id = :userId " +
+           "GROUP BY v.comment.id, q.id, q.category ORDER BY v.comment.id ASC")
+    List<VoteTally> tallyCommentVotesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Vote v WHERE v.user.id = :userId AND v.question.id IN :questionIds")
+    int deleteByUserIdAndQuestionIds(@Param("userId") Long userId,
+                                     @Param("questionIds") Collection<Long> questionIds);
+
+    @Modifying
+    @Query("DELETE FROM Vote v WHERE v.user.id = :userId AND v.comment.id IN :commentIds")
+    int deleteByUserIdAndCommentIds(@Param("userId") Long userId, @Param("commentIds") Collection<Long> commentIds);
+}
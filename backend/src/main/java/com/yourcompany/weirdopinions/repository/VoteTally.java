@@ -0,0 +1,13 @@
+package com.yourcompany.weirdopinions.repository;
+
+import com.yourcompany.weirdopinions.model.Category;
+
+// One user's votes on one question or comment; questionId and category are those of the question the
+// target belongs to (for a question, questionId is the target itself)
+public interface VoteTally {
+    Long getTargetId();
+    Long getQuestionId();
+    Category getCategory();
+    long getUpvotes();
+    long getDownvotes();
+}
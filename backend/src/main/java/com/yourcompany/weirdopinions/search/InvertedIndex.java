@@ -0,0 +1,353 @@
+package com.yourcompany.weirdopinions.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// BM25-ranked inverted index over question ids. Documents get dense, increasing doc numbers, so every
+// postings list stays sorted by appending and can be merged document-at-a-time without extra allocation.
+// Removed documents are tombstoned and physically dropped once they make up a quarter of the index;
+// until then they still sit in the postings lists, so document frequencies count only live entries.
+public class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MIN_COMPACTION_SIZE = 1024;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> docNoById = new HashMap<>();
+    private long[] docIds = new long[MIN_COMPACTION_SIZE];
+    private int[] docLengths = new int[MIN_COMPACTION_SIZE];
+    private final BitSet deleted = new BitSet();
+    private int docCount;
+    private int deletedCount;
+    private long totalLength;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void index(long questionId, List<String> tokens) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(questionId);
+
+            int docNo = docCount++;
+            if (docNo == docIds.length) {
+                docIds = Arrays.copyOf(docIds, docNo * 2);
+                docLengths = Arrays.copyOf(docLengths, docNo * 2);
+            }
+            docIds[docNo] = questionId;
+            docLengths[docNo] = tokens.size();
+            docNoById.put(questionId, docNo);
+            totalLength += tokens.size();
+
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String token : tokens) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new Postings()).add(docNo, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long questionId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(questionId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docNoById.clear();
+            deleted.clear();
+            docCount = 0;
+            deletedCount = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Hits search(List<String> queryTokens, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            int liveCount = docCount - deletedCount;
+            Set<String> terms = new LinkedHashSet<>(queryTokens);
+            if (liveCount == 0 || terms.isEmpty() || offset < 0 || limit <= 0) {
+                return Hits.EMPTY;
+            }
+
+            Postings[] lists = new Postings[terms.size()];
+            float[] idf = new float[terms.size()];
+            int listCount = 0;
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                int frequency = list == null ? 0 : deletedCount == 0 ? list.size : list.liveSize(deleted);
+                if (frequency > 0) {
+                    lists[listCount] = list;
+                    idf[listCount] = (float) Math.log(1 + (liveCount - frequency + 0.5) / (frequency + 0.5));
+                    listCount++;
+                }
+            }
+            if (listCount == 0) {
+                return Hits.EMPTY;
+            }
+
+            float averageLength = (float) totalLength / liveCount;
+            int[] cursors = new int[listCount];
+            // Never more hits than live documents, and no int overflow for a deep offset
+            TopDocs top = new TopDocs((int) Math.min((long) offset + limit, liveCount));
+            int totalHits = 0;
+
+            while (true) {
+                int doc = Integer.MAX_VALUE;
+                for (int i = 0; i < listCount; i++) {
+                    if (cursors[i] < lists[i].size) {
+                        doc = Math.min(doc, lists[i].docs[cursors[i]]);
+                    }
+                }
+                if (doc == Integer.MAX_VALUE) {
+                    break;
+                }
+
+                float score = 0;
+                float lengthNorm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+                for (int i = 0; i < listCount; i++) {
+                    if (cursors[i] < lists[i].size && lists[i].docs[cursors[i]] == doc) {
+                        int tf = lists[i].freqs[cursors[i]];
+                        score += idf[i] * tf * (K1 + 1) / (tf + lengthNorm);
+                        cursors[i]++;
+                    }
+                }
+
+                if (!deleted.get(doc)) {
+                    totalHits++;
+                    top.offer(doc, score);
+                }
+            }
+
+            int[] ranked = top.drainDescending();
+            int from = Math.min(offset, ranked.length);
+            long[] ids = new long[ranked.length - from];
+            for (int i = from; i < ranked.length; i++) {
+                ids[i - from] = docIds[ranked[i]];
+            }
+            return new Hits(ids, totalHits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(long questionId) {
+        Integer docNo = docNoById.remove(questionId);
+        if (docNo == null) {
+            return;
+        }
+        deleted.set(docNo);
+        deletedCount++;
+        totalLength -= docLengths[docNo];
+        if (deletedCount >= MIN_COMPACTION_SIZE && deletedCount * 4 >= docCount) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+            } else {
+                remap[doc] = next;
+                docIds[next] = docIds[doc];
+                docLengths[next] = docLengths[doc];
+                next++;
+            }
+        }
+
+        Iterator<Postings> it = postings.values().iterator();
+        while (it.hasNext()) {
+            Postings list = it.next();
+            list.remap(remap);
+            if (list.size == 0) {
+                it.remove();
+            }
+        }
+
+        docNoById.clear();
+        for (int doc = 0; doc < next; doc++) {
+            docNoById.put(docIds[doc], doc);
+        }
+        deleted.clear();
+        docCount = next;
+        deletedCount = 0;
+    }
+
+    public static class Hits {
+        static final Hits EMPTY = new Hits(new long[0], 0);
+
+        private final long[] questionIds;
+        private final int totalHits;
+
+        Hits(long[] questionIds, int totalHits) {
+            this.questionIds = questionIds;
+            this.totalHits = totalHits;
+        }
+
+        public long[] getQuestionIds() { return questionIds; }
+        public int getTotalHits() { return totalHits; }
+    }
+
+    private static class Postings {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        int liveSize(BitSet deleted) {
+            int live = 0;
+            for (int i = 0; i < size; i++) {
+                if (!deleted.get(docs[i])) {
+                    live++;
+                }
+            }
+            return live;
+        }
+
+        void remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (size < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(size, 4));
+                freqs = Arrays.copyOf(freqs, Math.max(size, 4));
+            }
+        }
+    }
+
+    // Bounded min-heap on parallel arrays; ties prefer the newer (higher) doc number
+    private static class TopDocs {
+        private final int[] docs;
+        private final float[] scores;
+        private int size;
+
+        TopDocs(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        void offer(int doc, float score) {
+            if (size < docs.length) {
+                docs[size] = doc;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (less(0, doc, score)) {
+                docs[0] = doc;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        int[] drainDescending() {
+            int[] result = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = docs[0];
+                size--;
+                docs[0] = docs[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return result;
+        }
+
+        private boolean less(int slot, int doc, float score) {
+            return scores[slot] < score || (scores[slot] == score && docs[slot] < doc);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!less(i, docs[parent], scores[parent])) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && less(left, docs[smallest], scores[smallest])) {
+                    smallest = left;
+                }
+                if (right < size && less(right, docs[smallest], scores[smallest])) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int doc = docs[a];
+            docs[a] = docs[b];
+            docs[b] = doc;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
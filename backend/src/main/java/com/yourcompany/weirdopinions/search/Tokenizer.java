@@ -0,0 +1,49 @@
+package com.yourcompany.weirdopinions.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Lowercases, splits on anything that is not a letter or digit and drops very short tokens and stop words
+public final class Tokenizer {
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "but", "by", "do", "for", "if", "in", "into",
+        "is", "it", "of", "on", "or", "so", "that", "the", "this", "to", "was", "with"
+    );
+
+    private Tokenizer() {}
+
+    public static List<String> tokenize(String... texts) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (Character.isLetterOrDigit(c)) {
+                    current.append(c);
+                } else {
+                    flush(current, tokens);
+                }
+            }
+            flush(current, tokens);
+        }
+        return tokens;
+    }
+
+    private static void flush(StringBuilder current, List<String> tokens) {
+        if (current.length() >= MIN_TOKEN_LENGTH) {
+            String token = current.toString().toLowerCase(Locale.ROOT);
+            if (!STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        current.setLength(0);
+    }
+}
@@ -0,0 +1,125 @@
+package com.yourcompany.weirdopinions.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Runs a CPU-heavy encoder (BCrypt) on its own pool of one thread per core with a short queue. Request
+// threads still wait for their own hash, but at most threads + queueCapacity of them can be waiting at
+// once; everyone beyond that gets PasswordEncoderBusyException immediately instead of tying up Tomcat.
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutMs;
+
+    private final Timing encodeTiming = new Timing();
+    private final Timing matchesTiming = new Timing();
+    private final LongAdder rejections = new LongAdder();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long waitTimeoutMs) {
+        this.delegate = delegate;
+        this.waitTimeoutMs = waitTimeoutMs;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-encoder-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword), encodeTiming);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword), matchesTiming);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> task, Timing timing) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    timing.record(started - submitted, System.nanoTime() - started);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new PasswordEncoderBusyException();
+        }
+
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejections.increment();
+            throw new PasswordEncoderBusyException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordEncoderBusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Stats
+    public int getActiveCount() { return executor.getActiveCount(); }
+    public int getQueuedCount() { return executor.getQueue().size(); }
+    public long getRejectedCount() { return rejections.sum(); }
+    public Timing getEncodeTiming() { return encodeTiming; }
+    public Timing getMatchesTiming() { return matchesTiming; }
+
+    // Queue wait and hashing time per operation, accumulated in nanoseconds
+    public static class Timing {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder queueNanos = new LongAdder();
+        private final LongAdder hashNanos = new LongAdder();
+
+        void record(long waited, long hashed) {
+            count.increment();
+            queueNanos.add(waited);
+            hashNanos.add(hashed);
+        }
+
+        public long getCount() { return count.sum(); }
+        public long getQueueNanos() { return queueNanos.sum(); }
+        public long getHashNanos() { return hashNanos.sum(); }
+    }
+
+    // Mapped to 503 by the auth endpoints
+    public static class PasswordEncoderBusyException extends RuntimeException {
+        public PasswordEncoderBusyException() {
+            super("Password hashing is saturated, try again shortly");
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.yourcompany.weirdopinions.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class JwtTokenProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
+
+    // Outcome of each getVerifiedClaims call, counted as weirdopinions.jwt.validations{outcome}
+    enum Outcome {
+        CACHED, VALID, MALFORMED, EXPIRED, UNSUPPORTED, EMPTY, BAD_SIGNATURE
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.jwtSecret}")
+    private String jwtSecret;
+
+    @Value("${app.jwtExpirationInMs}")
+    private int jwtExpirationInMs;
+
+    @Value("${app.jwtCacheSize}")
+    private int jwtCacheSize;
+
+    // Key and parser are immutable and thread-safe, so they are built once instead of per request
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // Recently verified tokens keyed by SHA-256 of the token; entries die with the token's exp, and past
+    // jwtCacheSize the least valuable entry is evicted so new sessions are still cached
+    private Cache<String, Claims> verifiedTokens;
+
+    private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtCacheSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("weirdopinions.jwt.validations")
+                    .description("JWT verifications by outcome")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    public String generateToken(Authentication authentication) {
+        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
+
+        return Jwts.builder()
+                .setSubject(userPrincipal.getUsername())
+                .setIssuedAt(new Date())
+                .setExpiration(expiryDate)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    public String getUsernameFromJWT(String token) {
+        Claims claims = getVerifiedClaims(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+
+    public boolean validateToken(String authToken) {
+        return getVerifiedClaims(authToken) != null;
+    }
+
+    // Parses and verifies the token once; returns null when it is invalid or expired
+    public Claims getVerifiedClaims(String authToken) {
+        String key = authToken != null ? hash(authToken) : null;
+        if (key != null) {
+            Claims cached = verifiedTokens.getIfPresent(key);
+            if (cached != null) {
+                outcomes.get(Outcome.CACHED).increment();
+                return cached;
+            }
+        }
+
+        try {
+            Claims claims = jwtParser.parseClaimsJws(authToken).getBody();
+            remember(key, claims);
+            outcomes.get(Outcome.VALID).increment();
+            return claims;
+        } catch (MalformedJwtException ex) {
+            reject(Outcome.MALFORMED, ex);
+        } catch (ExpiredJwtException ex) {
+            reject(Outcome.EXPIRED, ex);
+        } catch (UnsupportedJwtException ex) {
+            reject(Outcome.UNSUPPORTED, ex);
+        } catch (IllegalArgumentException ex) {
+            reject(Outcome.EMPTY, ex);
+        } catch (JwtException ex) {
+            reject(Outcome.BAD_SIGNATURE, ex);
+        }
+        return null;
+    }
+
+    // Rejections are routine (expired sessions, stale clients), so they are counted and only logged at debug
+    private void reject(Outcome outcome, Exception ex) {
+        outcomes.get(outcome).increment();
+        logger.debug("Rejected JWT ({}): {}", outcome, ex.getMessage());
+    }
+
+    private void remember(String key, Claims claims) {
+        if (jwtCacheSize > 0 && key != null && claims.getExpiration() != null) {
+            verifiedTokens.put(key, claims);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Each entry lives until its token's exp claim
+    private static class UntilTokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.yourcompany.weirdopinions.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Per-client token buckets for the API. As a filter it runs before JwtAuthenticationFilter and takes a token
+// from the client address's bucket, so a request rejected here costs neither a token verification nor a
+// principal lookup. Authenticated requests also take a token from the user's bucket: JwtAuthenticationFilter
+// calls admitUser with the subject of the verified (usually cached) token, so unverified tokens never create
+// a bucket. Limits are "capacity:perSecond" per group and dimension, 0 for none. Over the limit the answer is
+// 429 with Retry-After.
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // The route group of the current request, set by the address check for the user check
+    private static final String GROUP_ATTRIBUTE = RateLimitFilter.class.getName() + ".group";
+
+    public enum Group {
+        SIGNIN, AVAILABILITY, SEARCH, READ, WRITE
+    }
+
+    private enum Dimension {
+        IP, USER
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.rateLimit.enabled}")
+    private boolean enabled;
+
+    @Value("${app.rateLimit.maxKeys}")
+    private int maxKeys;
+
+    @Value("${app.rateLimit.signin.perIp}")
+    private String signinPerIp;
+
+    @Value("${app.rateLimit.availability.perIp}")
+    private String availabilityPerIp;
+
+    @Value("${app.rateLimit.search.perIp}")
+    private String searchPerIp;
+
+    @Value("${app.rateLimit.search.perUser}")
+    private String searchPerUser;
+
+    @Value("${app.rateLimit.read.perIp}")
+    private String readPerIp;
+
+    @Value("${app.rateLimit.read.perUser}")
+    private String readPerUser;
+
+    @Value("${app.rateLimit.write.perIp}")
+    private String writePerIp;
+
+    @Value("${app.rateLimit.write.perUser}")
+    private String writePerUser;
+
+    private final Map<Dimension, Map<Group, TokenBucketLimiter>> limiters = new EnumMap<>(Dimension.class);
+    private final Map<Dimension, Map<Group, Counter>> rejections = new EnumMap<>(Dimension.class);
+
+    @PostConstruct
+    void init() {
+        for (Dimension dimension : Dimension.values()) {
+            limiters.put(dimension, new EnumMap<>(Group.class));
+            Map<Group, Counter> counters = new EnumMap<>(Group.class);
+            for (Group group : Group.values()) {
+                counters.put(group, Counter.builder("weirdopinions.ratelimit.rejections")
+                        .description("Requests answered 429 by the rate limiter")
+                        .tag("group", group.name().toLowerCase())
+                        .tag("key", dimension.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+            rejections.put(dimension, counters);
+        }
+        limit(Dimension.IP, Group.SIGNIN, signinPerIp);
+        limit(Dimension.IP, Group.AVAILABILITY, availabilityPerIp);
+        limit(Dimension.IP, Group.SEARCH, searchPerIp);
+        limit(Dimension.USER, Group.SEARCH, searchPerUser);
+        limit(Dimension.IP, Group.READ, readPerIp);
+        limit(Dimension.USER, Group.READ, readPerUser);
+        limit(Dimension.IP, Group.WRITE, writePerIp);
+        limit(Dimension.USER, Group.WRITE, writePerUser);
+
+        limiters.forEach((dimension, byGroup) -> byGroup.forEach((group, limiter) ->
+                Gauge.builder("weirdopinions.ratelimit.keys", limiter, TokenBucketLimiter::size)
+                        .tag("group", group.name().toLowerCase())
+                        .tag("key", dimension.name().toLowerCase())
+                        .register(meterRegistry)));
+    }
+
+    private void limit(Dimension dimension, Group group, String spec) {
+        String[] parts = spec.trim().split(":");
+        int capacity = Integer.parseInt(parts[0]);
+        if (capacity <= 0) {
+            return;
+        }
+        double perSecond = parts.length > 1 ? Double.parseDouble(parts[1]) : capacity;
+        limiters.get(dimension).put(group, new TokenBucketLimiter(capacity, perSecond, maxKeys));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Group group = enabled ? groupOf(request.getMethod(), request.getRequestURI()) : null;
+        if (group != null) {
+            long waitNanos = acquire(Dimension.IP, group, request.getRemoteAddr(), System.nanoTime());
+            if (waitNanos > 0) {
+                reject(response, waitNanos);
+                return;
+            }
+            request.setAttribute(GROUP_ATTRIBUTE, group);
+        }
+        chain.doFilter(request, response);
+    }
+
+    // Takes a token from the verified user's bucket; false when the request was answered 429
+    public boolean admitUser(HttpServletRequest request, HttpServletResponse response, String subject)
+            throws IOException {
+        Object group = request.getAttribute(GROUP_ATTRIBUTE);
+        if (group == null) {
+            return true;
+        }
+        long waitNanos = acquire(Dimension.USER, (Group) group, subject, System.nanoTime());
+        if (waitNanos > 0) {
+            reject(response, waitNanos);
+            return false;
+        }
+        return true;
+    }
+
+    private long acquire(Dimension dimension, Group group, String key, long now) {
+        TokenBucketLimiter limiter = limiters.get(dimension).get(group);
+        if (limiter == null) {
+            return 0;
+        }
+        long waitNanos = limiter.tryAcquire(key, now);
+        if (waitNanos > 0) {
+            rejections.get(dimension).get(group).increment();
+        }
+        return waitNanos;
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests, try again shortly\"}");
+    }
+
+    // Plain string checks instead of pattern matching; CORS preflights and anything outside /api (actuator,
+    // console) are not limited
+    public static Group groupOf(String method, String path) {
+        if (path.startsWith("/api/auth/")) {
+            if (path.equals("/api/auth/signin") || path.equals("/api/auth/signup")) {
+                return Group.SIGNIN;
+            }
+            return path.startsWith("/api/auth/check-") ? Group.AVAILABILITY : null;
+        }
+        if (!path.startsWith("/api/") || method.equals("OPTIONS")) {
+            return null;
+        }
+        if (path.equals("/api/questions/search")) {
+            return Group.SEARCH;
+        }
+        return method.equals("GET") || method.equals("HEAD") ? Group.READ : Group.WRITE;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rateLimit.evictIntervalMs}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        limiters.values().forEach(byGroup -> byGroup.values().forEach(limiter -> limiter.evictIdle(now)));
+    }
+
+    // Stats
+    public long getRejectedCount() {
+        return (long) rejections.values().stream()
+                .flatMap(counters -> counters.values().stream())
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+}
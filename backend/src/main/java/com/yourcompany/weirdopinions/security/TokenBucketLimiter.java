@@ -0,0 +1,55 @@
+package com.yourcompany.weirdopinions.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token buckets keyed by client, one limit for all keys. Each bucket is a single AtomicLong holding its
+// theoretical arrival time (GCRA): the instant the bucket would be full again. Taking a token advances it by
+// one refill interval with a CAS, so there are no locks and no per-request allocation once a key exists.
+// A bucket whose time has passed is full, indistinguishable from a new one, so dropping it is harmless.
+// Keys live in a Caffeine cache bounded at maxKeys: a flood of new keys is mostly refused admission by its
+// frequency sketch, and anything evicted comes back as a full bucket, so a flood can make limits laxer for
+// the evicted clients but never throttles anyone else.
+public class TokenBucketLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    public TokenBucketLimiter(int capacity, double perSecond, int maxKeys) {
+        this.intervalNanos = (long) (1_000_000_000L / perSecond);
+        this.burstNanos = intervalNanos * (capacity - 1);
+        // Evictions run on the calling thread, so a flood is trimmed as it arrives
+        this.buckets = Caffeine.newBuilder().maximumSize(maxKeys).executor(Runnable::run).build();
+    }
+
+    // Takes a token; returns 0 when one was available, otherwise the nanoseconds until one will be
+    public long tryAcquire(String key, long now) {
+        AtomicLong bucket = buckets.getIfPresent(key);
+        if (bucket == null) {
+            bucket = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long start = Math.max(arrival, now);
+            if (start - now > burstNanos) {
+                return start - now - burstNanos;
+            }
+            if (bucket.compareAndSet(arrival, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // Drops full buckets. A request racing with the removal may spend its token on the dropped bucket,
+    // which at worst lets that client through once more.
+    public void evictIdle(long now) {
+        buckets.asMap().values().removeIf(bucket -> bucket.get() <= now);
+    }
+
+    public long size() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,177 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.event.QuestionActivityEvent;
+import com.yourcompany.weirdopinions.repository.CommentKey;
+import com.yourcompany.weirdopinions.repository.CommentRepository;
+import com.yourcompany.weirdopinions.repository.PollVoteKey;
+import com.yourcompany.weirdopinions.repository.PollVoteRepository;
+import com.yourcompany.weirdopinions.repository.QuestionKey;
+import com.yourcompany.weirdopinions.repository.QuestionRepository;
+import com.yourcompany.weirdopinions.repository.UserRepository;
+import com.yourcompany.weirdopinions.repository.VoteRepository;
+import com.yourcompany.weirdopinions.repository.VoteTally;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Set-based deletes in foreign key order (votes, poll votes, comments deepest first, then the owner), so
+// removing a popular question or a prolific user issues a fixed number of statements per chunk instead of
+// loading every child entity through cascades. Only ids are held in memory, at most chunkSize per statement.
+// A deleted user's votes, poll votes and comments on questions that survive are backed out of their counters
+// and published like any other retraction, so the caches and live subscribers follow.
+@Service
+@Transactional
+public class BulkDeleteService {
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private PollVoteRepository pollVoteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.bulkDelete.chunkSize}")
+    private int chunkSize;
+
+    // Callers publish the DELETED events; ids should number at most chunkSize
+    public void deleteQuestions(Collection<Long> questionIds) {
+        if (questionIds.isEmpty()) {
+            return;
+        }
+        voteRepository.deleteCommentVotesByQuestionIds(questionIds);
+        voteRepository.deleteByQuestionIds(questionIds);
+        pollVoteRepository.deleteByQuestionIds(questionIds);
+        Integer maxDepth = commentRepository.findMaxDepth(questionIds);
+        for (int depth = maxDepth != null ? maxDepth : -1; depth >= 0; depth--) {
+            commentRepository.deleteByQuestionIdsAndDepth(questionIds, depth);
+        }
+        questionRepository.deletePollOptionsByQuestionIds(questionIds);
+        questionRepository.deleteByIds(questionIds);
+    }
+
+    // Deletes the comments and all replies below them. The roots must share a depth, so no statement
+    // removes a comment together with its parent.
+    public int deleteCommentSubtrees(List<Long> rootIds) {
+        if (rootIds.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Integer> removedReplies = new HashMap<>();
+        for (List<Long> chunk : chunks(rootIds)) {
+            commentRepository.findParentIds(chunk).forEach(parentId -> removedReplies.merge(parentId, 1, Integer::sum));
+        }
+
+        List<List<Long>> levels = new ArrayList<>();
+        for (List<Long> level = rootIds; !level.isEmpty(); ) {
+            levels.add(level);
+            List<Long> replies = new ArrayList<>();
+            for (List<Long> chunk : chunks(level)) {
+                replies.addAll(commentRepository.findReplyIds(chunk));
+            }
+            level = replies;
+        }
+
+        int deleted = 0;
+        for (int i = levels.size() - 1; i >= 0; i--) {
+            for (List<Long> chunk : chunks(levels.get(i))) {
+                voteRepository.deleteByCommentIds(chunk);
+                deleted += commentRepository.deleteByIds(chunk);
+            }
+        }
+        removedReplies.forEach((parentId, count) -> commentRepository.adjustReplyCount(parentId, -count));
+        return deleted;
+    }
+
+    // Everything the user owns, a chunk at a time, then the user row itself (roles go with it)
+    public void deleteUser(Long userId) {
+        List<QuestionKey> questions;
+        while (!(questions = questionRepository.findKeysByUserId(userId, PageRequest.of(0, chunkSize))).isEmpty()) {
+            deleteQuestions(questions.stream().map(QuestionKey::getId).collect(Collectors.toList()));
+            questions.forEach(question -> eventPublisher.publishEvent(QuestionActivityEvent.of(
+                    QuestionActivityEvent.Type.DELETED, question.getId(), question.getCategory())));
+        }
+
+        // Roots of one depth at a time, one subtree delete per question so each gets its own COMMENTED
+        List<CommentKey> comments;
+        while (!(comments = commentRepository.findKeysByUserId(userId, PageRequest.of(0, chunkSize))).isEmpty()) {
+            int depth = comments.get(0).getDepth();
+            Map<Long, List<CommentKey>> byQuestion = comments.stream()
+                    .filter(comment -> comment.getDepth() == depth)
+                    .collect(Collectors.groupingBy(CommentKey::getQuestionId, LinkedHashMap::new, Collectors.toList()));
+            byQuestion.forEach((questionId, roots) -> {
+                int deleted = deleteCommentSubtrees(roots.stream().map(CommentKey::getId).collect(Collectors.toList()));
+                eventPublisher.publishEvent(QuestionActivityEvent.commented(
+                        questionId, roots.get(0).getCategory(), -deleted));
+            });
+        }
+
+        List<VoteTally> questionVotes;
+        while (!(questionVotes = voteRepository.tallyQuestionVotesByUserId(userId, PageRequest.of(0, chunkSize)))
+                .isEmpty()) {
+            for (VoteTally tally : questionVotes) {
+                int upDelta = -(int) tally.getUpvotes();
+                int downDelta = -(int) tally.getDownvotes();
+                questionRepository.adjustVoteCounts(tally.getTargetId(), upDelta, downDelta);
+                eventPublisher.publishEvent(new QuestionActivityEvent(QuestionActivityEvent.Type.VOTED,
+                        tally.getTargetId(), tally.getCategory(), upDelta, downDelta));
+            }
+            voteRepository.deleteByUserIdAndQuestionIds(userId, targetIds(questionVotes));
+        }
+
+        List<VoteTally> commentVotes;
+        while (!(commentVotes = voteRepository.tallyCommentVotesByUserId(userId, PageRequest.of(0, chunkSize)))
+                .isEmpty()) {
+            for (VoteTally tally : commentVotes) {
+                int upDelta = -(int) tally.getUpvotes();
+                int downDelta = -(int) tally.getDownvotes();
+                commentRepository.adjustVoteCounts(tally.getTargetId(), upDelta, downDelta);
+                eventPublisher.publishEvent(QuestionActivityEvent.commentVoted(tally.getQuestionId(),
+                        tally.getCategory(), tally.getTargetId(), upDelta, downDelta));
+            }
+            voteRepository.deleteByUserIdAndCommentIds(userId, targetIds(commentVotes));
+        }
+
+        List<PollVoteKey> pollVotes;
+        while (!(pollVotes = pollVoteRepository.findKeysByUserId(userId, PageRequest.of(0, chunkSize))).isEmpty()) {
+            pollVoteRepository.deleteByUserIdAndQuestionIds(userId,
+                    pollVotes.stream().map(PollVoteKey::getQuestionId).collect(Collectors.toList()));
+            pollVotes.forEach(vote -> eventPublisher.publishEvent(QuestionActivityEvent.pollVoteWithdrawn(
+                    vote.getQuestionId(), vote.getCategory(), vote.getOptionIndex())));
+        }
+
+        userRepository.deleteById(userId);
+    }
+
+    private static List<Long> targetIds(List<VoteTally> tallies) {
+        return tallies.stream().map(VoteTally::getTargetId).collect(Collectors.toList());
+    }
+
+    private List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,317 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.dto.CursorPage;
+import com.yourcompany.weirdopinions.dto.FeedCursor;
+import com.yourcompany.weirdopinions.dto.QuestionSummary;
+import com.yourcompany.weirdopinions.event.QuestionActivityEvent;
+import com.yourcompany.weirdopinions.model.Category;
+import com.yourcompany.weirdopinions.repository.QuestionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+// The newest segmentSize summaries of every category, newest first, kept as an immutable array that is
+// swapped on each change. Segments are always a prefix of the category's keyset order, so any page that
+// ends inside the segment (or any page at all once the segment holds the whole category) is served from
+// memory; deeper pages return empty and the caller falls back to the indexed keyset query.
+// A reload cannot tell whether a change announced while its query ran was committed before or after the
+// query read the row, so it never replays deltas: it re-reads the questions touched meanwhile and installs
+// those rows as they are now.
+@Service
+public class CategoryFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryFeedService.class);
+
+    // Rough per-entry cost of a summary beyond its strings (object headers, boxed id, Instant, references)
+    private static final int SUMMARY_OVERHEAD_BYTES = 160;
+    // Re-read rounds before a reload that keeps being overtaken gives way to the live segment
+    private static final int MAX_REREADS = 5;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Value("${app.categoryFeed.segmentSize}")
+    private int segmentSize;
+
+    private final Map<Category, Holder> segments = new EnumMap<>(Category.class);
+
+    private volatile boolean ready = false;
+
+    public CategoryFeedService() {
+        for (Category category : Category.values()) {
+            segments.put(category, new Holder());
+        }
+    }
+
+    public Optional<Page<QuestionSummary>> getPage(Category category, int page, int size) {
+        Segment segment = segments.get(category).segment;
+        int from = page * size;
+        if (!ready || size <= 0 || (from + size > segment.items.length && !segment.isComplete())) {
+            return Optional.empty();
+        }
+        int to = Math.min(from + size, segment.items.length);
+        List<QuestionSummary> items = from >= to ? List.of() : List.of(Arrays.copyOfRange(segment.items, from, to));
+        Pageable pageable = PageRequest.of(page, size);
+        return Optional.of(new PageImpl<>(items, pageable, segment.totalCount));
+    }
+
+    // Reads size + 1 rows like the keyset query, so CursorPage can tell whether more exist
+    public Optional<CursorPage<QuestionSummary>> getFeed(Category category, FeedCursor position, int size) {
+        Segment segment = segments.get(category).segment;
+        if (!ready) {
+            return Optional.empty();
+        }
+        int from = firstAfter(segment.items, position);
+        int to = from + size + 1;
+        if (to > segment.items.length && !segment.isComplete()) {
+            return Optional.empty();
+        }
+        List<QuestionSummary> rows = List.of(Arrays.copyOfRange(segment.items, from,
+                Math.min(to, segment.items.length)));
+        return Optional.of(CursorPage.of(rows, size,
+                summary -> new FeedCursor(summary.getCreatedAt(), summary.getId())));
+    }
+
+    // Ordered after EntityCacheService and before FeedVersionService, so a new feed ETag is only
+    // observable once the segment reflects the change
+    @Order(5)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionActivity(QuestionActivityEvent event) {
+        Category category = event.getCategory();
+        if (category == null) {
+            return;
+        }
+        Holder holder = segments.get(category);
+        Long questionId = event.getQuestionId();
+        switch (event.getType()) {
+            case CREATED -> questionRepository.findSummariesByIdIn(List.of(questionId))
+                    .forEach(summary -> holder.update(questionId, segment -> segment.insert(summary, segmentSize)));
+            case UPDATED -> questionRepository.findSummariesByIdIn(List.of(questionId))
+                    .forEach(summary -> holder.update(questionId, segment -> segment.replace(summary)));
+            case DELETED -> holder.update(questionId, segment -> segment.remove(questionId));
+            case VOTED -> holder.update(questionId, segment -> segment.adjust(questionId,
+                    event.getUpDelta(), event.getDownDelta(), 0));
+            case COMMENTED -> holder.update(questionId,
+                    segment -> segment.adjust(questionId, 0, 0, event.getCommentDelta()));
+            case POLL_VOTED, COMMENT_VOTED -> { }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+        ready = true;
+    }
+
+    // Periodic reload; also heals anything an event missed. The queries run outside the holder's lock, so
+    // events keep being applied to the live segment meanwhile; the questions they touched are re-read
+    // before the reload is installed.
+    @Scheduled(fixedDelayString = "${app.categoryFeed.refreshIntervalMs}",
+               initialDelayString = "${app.categoryFeed.refreshIntervalMs}")
+    public synchronized void refresh() {
+        long started = System.currentTimeMillis();
+        for (Category category : Category.values()) {
+            Holder holder = segments.get(category);
+            holder.beginReload();
+            List<QuestionSummary> rows = questionRepository.findSummariesByCategoryBefore(category,
+                    FeedCursor.START.getCreatedAt(), FeedCursor.START.getId(), PageRequest.of(0, segmentSize));
+            Segment loaded = new Segment(rows.toArray(new QuestionSummary[0]),
+                    questionRepository.countByCategory(category));
+            int rereads = 0;
+            while (!holder.finishReload(loaded)) {
+                if (++rereads > MAX_REREADS) {
+                    holder.abandonReload();
+                    logger.debug("Category feed reload of {} kept being overtaken; keeping the live segment", category);
+                    break;
+                }
+                loaded = reread(category, loaded, holder.drainTouched());
+            }
+        }
+        logger.info("Category feed segments loaded ({} bytes) in {} ms",
+                footprint().values().stream().mapToLong(Long::longValue).sum(),
+                System.currentTimeMillis() - started);
+    }
+
+    // The loaded segment with the given questions as they are now, and a fresh total
+    private Segment reread(Category category, Segment loaded, Set<Long> questionIds) {
+        Map<Long, QuestionSummary> current = new HashMap<>();
+        questionRepository.findSummariesByIdIn(questionIds).forEach(summary -> current.put(summary.getId(), summary));
+        Segment next = loaded;
+        for (Long questionId : questionIds) {
+            QuestionSummary summary = current.get(questionId);
+            next = summary != null && summary.getCategory() == category
+                    ? next.insert(summary, segmentSize)
+                    : next.remove(questionId);
+        }
+        return new Segment(next.items, questionRepository.countByCategory(category));
+    }
+
+    // Estimated bytes held per category
+    public Map<Category, Long> footprint() {
+        Map<Category, Long> bytes = new LinkedHashMap<>();
+        segments.forEach((category, holder) -> {
+            long total = 0;
+            for (QuestionSummary summary : holder.segment.items) {
+                total += SUMMARY_OVERHEAD_BYTES + 2L * (length(summary.getTitle()) + length(summary.getSnippet())
+                        + length(summary.getImageUrl()) + length(summary.getAnonymousName()));
+            }
+            bytes.put(category, total);
+        });
+        return bytes;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    // Index of the first item that sorts after the cursor in (createdAt DESC, id DESC) order
+    private static int firstAfter(QuestionSummary[] items, FeedCursor position) {
+        int low = 0;
+        int high = items.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (isBefore(items[mid], position)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static boolean isBefore(QuestionSummary summary, FeedCursor position) {
+        int byTime = summary.getCreatedAt().compareTo(position.getCreatedAt());
+        return byTime < 0 || (byTime == 0 && summary.getId() < position.getId());
+    }
+
+    private static class Holder {
+        private volatile Segment segment = new Segment(new QuestionSummary[0], 0);
+        // Questions changed since the running reload began or last re-read them; null outside a reload
+        private Set<Long> touched;
+
+        synchronized void update(Long questionId, UnaryOperator<Segment> change) {
+            segment = change.apply(segment);
+            if (touched != null) {
+                touched.add(questionId);
+            }
+        }
+
+        synchronized void beginReload() {
+            touched = new HashSet<>();
+        }
+
+        synchronized Set<Long> drainTouched() {
+            Set<Long> questionIds = touched;
+            touched = new HashSet<>();
+            return questionIds;
+        }
+
+        // Installs the reload unless a change arrived that it has not re-read yet
+        synchronized boolean finishReload(Segment loaded) {
+            if (!touched.isEmpty()) {
+                return false;
+            }
+            segment = loaded;
+            touched = null;
+            return true;
+        }
+
+        synchronized void abandonReload() {
+            touched = null;
+        }
+    }
+
+    private static class Segment {
+        private final QuestionSummary[] items;
+        private final long totalCount;
+
+        Segment(QuestionSummary[] items, long totalCount) {
+            this.items = items;
+            this.totalCount = totalCount;
+        }
+
+        boolean isComplete() {
+            return totalCount <= items.length;
+        }
+
+        Segment insert(QuestionSummary summary, int capacity) {
+            if (indexOf(summary.getId()) >= 0) {
+                return replace(summary);
+            }
+            int at = firstAfter(items, new FeedCursor(summary.getCreatedAt(), summary.getId()));
+            // Older than everything held while the segment is only a prefix: it belongs past the tail
+            if (at == items.length && !isComplete()) {
+                return new Segment(items, totalCount + 1);
+            }
+            QuestionSummary[] next = new QuestionSummary[Math.min(items.length + 1, capacity)];
+            System.arraycopy(items, 0, next, 0, Math.min(at, next.length));
+            if (at < next.length) {
+                next[at] = summary;
+                System.arraycopy(items, at, next, at + 1, next.length - at - 1);
+            }
+            return new Segment(next, totalCount + 1);
+        }
+
+        Segment replace(QuestionSummary summary) {
+            int at = indexOf(summary.getId());
+            if (at < 0) {
+                return this;
+            }
+            QuestionSummary[] next = items.clone();
+            next[at] = summary;
+            return new Segment(next, totalCount);
+        }
+
+        Segment remove(Long questionId) {
+            int at = indexOf(questionId);
+            if (at < 0) {
+                return new Segment(items, Math.max(totalCount - 1, 0));
+            }
+            QuestionSummary[] next = new QuestionSummary[items.length - 1];
+            System.arraycopy(items, 0, next, 0, at);
+            System.arraycopy(items, at + 1, next, at, items.length - at - 1);
+            return new Segment(next, Math.max(totalCount - 1, 0));
+        }
+
+        Segment adjust(Long questionId, int upDelta, int downDelta, int commentDelta) {
+            int at = indexOf(questionId);
+            if (at < 0) {
+                return this;
+            }
+            QuestionSummary current = items[at];
+            return replace(current.withCounts(current.getUpvotes() + upDelta,
+                    current.getDownvotes() + downDelta, current.getCommentCount() + commentDelta));
+        }
+
+        private int indexOf(Long questionId) {
+            for (int i = 0; i < items.length; i++) {
+                if (items[i].getId().equals(questionId)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -1,114 +1,236 @@
-package com.yourcompany.weirdopinions.service;
-
-import com.yourcompany.weirdopinions.model.*;
-import com.yourcompany.weirdopinions.repository.*;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.List;
-import java.util.Optional;
-
-@Service
-@Transactional
-public class CommentService {
-
-    @Autowired
-    private CommentRepository commentRepository;
-
-    @Autowired
-    private QuestionRepository questionRepository;
-
-    @Autowired
-    private VoteRepository voteRepository;
-
-    public List<Comment> getCommentsByQuestion(Long questionId) {
-        Question question = questionRepository.findById(questionId)
-                .orElseThrow(() -> new RuntimeException("Question not found"));
-        return commentRepository.findByQuestionOrderByCreatedAtAsc(question);
-    }
-
-    public List<Comment> getRepliesByComment(Long commentId) {
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new RuntimeException("Comment not found"));
-        return commentRepository.findByParentCommentOrderByCreatedAtAsc(comment);
-    }
-
-    public Comment createComment(String content, Long questionId, User user) {
-        Question question = questionRepository.findById(questionId)
-                .orElseThrow(() -> new RuntimeException("Question not found"));
-        
-        Comment comment = new Comment(content, user, question);
-        return commentRepository.save(comment);
-    }
-
-    public Comment createReply(String content, Long parentCommentId, User user) {
-        Comment parentComment = commentRepository.findById(parentCommentId)
-                .orElseThrow(() -> new RuntimeException("Parent comment not found"));
-        
-        Comment reply = new Comment(content, user, parentComment.getQuestion());
-        reply.setParentComment(parentComment);
-        return commentRepository.save(reply);
-    }
-
-    public Comment updateComment(Long commentId, String content, User user) {
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new RuntimeException("Comment not found"));
-        
-        if (!comment.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Not authorized to update this comment");
-        }
-        
-        comment.setContent(content);
-        return commentRepository.save(comment);
-    }
-
-    public void deleteComment(Long commentId, User user) {
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new RuntimeException("Comment not found"));
-        
-        if (!comment.getUser().getId().equals(user.getId()) && 
-            !user.getRoles().contains(RoleName.ROLE_ADMIN)) {
-            throw new RuntimeException("Not authorized to delete this comment");
-        }
-        
-        commentRepository.delete(comment);
-    }
-
-    public Vote voteOnComment(Long commentId, VoteType voteType, User user) {
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new RuntimeException("Comment not found"));
-        
-        // Check if user already voted
-        Optional<Vote> existingVote = voteRepository.findByUserAndComment(user, comment);
-        
-        if (existingVote.isPresent()) {
-            Vote vote = existingVote.get();
-            if (vote.getVoteType() == voteType) {
-                // Remove vote if clicking same vote type
-                voteRepository.delete(vote);
-                return null;
-            } else {
-                // Update vote type
-                vote.setVoteType(voteType);
-                return voteRepository.save(vote);
-            }
-        } else {
-            // Create new vote
-            Vote vote = new Vote(voteType, user, comment);
-            return voteRepository.save(vote);
-        }
-    }
-
-    public Page<Comment> getUserComments(User user, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return commentRepository.findByUserOrderByCreatedAtDesc(user, pageable);
-    }
-
-    public Optional<Comment> getCommentById(Long commentId) {
-        return commentRepository.findById(commentId);
-    }
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.dto.CommentThread;
+import com.yourcompany.weirdopinions.dto.CommentView;
+import com.yourcompany.weirdopinions.dto.CursorPage;
+import com.yourcompany.weirdopinions.dto.FeedCursor;
+import com.yourcompany.weirdopinions.event.QuestionActivityEvent;
+import com.yourcompany.weirdopinions.model.*;
+import com.yourcompany.weirdopinions.repository.*;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@Observed(name = "weirdopinions.service")
+@Transactional
+public class CommentService {
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private UserVoteCache userVoteCache;
+
+    @Autowired
+    private VoteMetrics voteMetrics;
+
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.comments.maxThreadDepth}")
+    private int maxThreadDepth;
+
+    @Value("${app.comments.maxRepliesPerThread}")
+    private int maxRepliesPerThread;
+
+    @Transactional(readOnly = true)
+    public List<CommentView> getCommentsByQuestion(Long questionId) {
+        if (!questionRepository.existsById(questionId)) {
+            throw new RuntimeException("Question not found");
+        }
+        return commentRepository.findViewsByQuestionId(questionId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CommentView> getRepliesByComment(Long commentId) {
+        if (!commentRepository.existsById(commentId)) {
+            throw new RuntimeException("Comment not found");
+        }
+        return commentRepository.findViewsByParentCommentId(commentId);
+    }
+
+    // A page of top-level comments with their replies down to the given depth (at most maxRepliesPerThread
+    // under each), in two queries. Nodes with unloaded replies carry a cursor for getReplies.
+    @Transactional(readOnly = true)
+    public CursorPage<CommentThread> getCommentThreads(Long questionId, String cursor, int size, int depth) {
+        if (!questionRepository.existsById(questionId)) {
+            throw new RuntimeException("Question not found");
+        }
+        FeedCursor position = FeedCursor.decode(cursor, FeedCursor.OLDEST);
+        int limit = Math.max(size, 1);
+        List<CommentView> rows = commentRepository.findThreadRootsAfter(
+                questionId, position.getCreatedAt(), position.getId(), PageRequest.of(0, limit + 1));
+        CursorPage<CommentView> roots = CursorPage.of(rows, limit, view -> new FeedCursor(view.getCreatedAt(), view.getId()));
+
+        int maxDepth = Math.min(Math.max(depth, 0), maxThreadDepth);
+        Map<Long, CommentThread> threads = new HashMap<>();
+        List<CommentThread> items = new ArrayList<>(roots.getItems().size());
+        for (CommentView root : roots.getItems()) {
+            CommentThread thread = new CommentThread(root);
+            threads.put(root.getId(), thread);
+            items.add(thread);
+        }
+        if (maxDepth > 0 && !threads.isEmpty()) {
+            List<CommentView> replies = commentRepository.findThreadReplies(threads.keySet(), maxDepth, maxRepliesPerThread);
+            for (CommentView reply : replies) {
+                threads.put(reply.getId(), new CommentThread(reply));
+            }
+            // Replies arrive oldest first, so each parent's list ends up in creation order
+            for (CommentView reply : replies) {
+                CommentThread parent = threads.get(reply.getParentCommentId());
+                if (parent != null) {
+                    parent.getReplies().add(threads.get(reply.getId()));
+                }
+            }
+        }
+        threads.values().forEach(CommentThread::markUnloadedReplies);
+        return new CursorPage<>(items, roots.getNextCursor());
+    }
+
+    // The next page of a comment's direct replies, continuing from a thread node's repliesCursor
+    @Transactional(readOnly = true)
+    public CursorPage<CommentView> getReplies(Long commentId, String cursor, int size) {
+        if (!commentRepository.existsById(commentId)) {
+            throw new RuntimeException("Comment not found");
+        }
+        FeedCursor position = FeedCursor.decode(cursor, FeedCursor.OLDEST);
+        int limit = Math.max(size, 1);
+        List<CommentView> rows = commentRepository.findRepliesAfter(
+                commentId, position.getCreatedAt(), position.getId(), PageRequest.of(0, limit + 1));
+        return CursorPage.of(rows, limit, view -> new FeedCursor(view.getCreatedAt(), view.getId()));
+    }
+
+    public Comment createComment(String content, Long questionId, User user) {
+        Question question = questionRepository.findById(questionId)
+                .orElseThrow(() -> new RuntimeException("Question not found"));
+        
+        Comment comment = new Comment(content, user, question);
+        Comment saved = commentRepository.save(comment);
+        eventPublisher.publishEvent(QuestionActivityEvent.commented(questionId, question.getCategory(), 1));
+        return saved;
+    }
+
+    public Comment createReply(String content, Long parentCommentId, User user) {
+        Comment parentComment = commentRepository.findById(parentCommentId)
+                .orElseThrow(() -> new RuntimeException("Parent comment not found"));
+        
+        Comment reply = new Comment(content, user, parentComment.getQuestion());
+        reply.setParentComment(parentComment);
+        reply.setRootCommentId(parentComment.getRootCommentId() != null
+                ? parentComment.getRootCommentId() : parentComment.getId());
+        reply.setDepth(parentComment.getDepth() + 1);
+        Comment saved = commentRepository.save(reply);
+        commentRepository.adjustReplyCount(parentCommentId, 1);
+        Question question = parentComment.getQuestion();
+        eventPublisher.publishEvent(QuestionActivityEvent.commented(question.getId(), question.getCategory(), 1));
+        return saved;
+    }
+
+    public Comment updateComment(Long commentId, String content, User user) {
+        Comment comment = commentRepository.findById(commentId)
+                .orElseThrow(() -> new RuntimeException("Comment not found"));
+        
+        if (!comment.getUser().getId().equals(user.getId())) {
+            throw new RuntimeException("Not authorized to update this comment");
+        }
+        
+        comment.setContent(content);
+        return commentRepository.save(comment);
+    }
+
+    public void deleteComment(Long commentId, User user) {
+        Comment comment = commentRepository.findById(commentId)
+                .orElseThrow(() -> new RuntimeException("Comment not found"));
+        
+        if (!comment.getUser().getId().equals(user.getId()) && 
+            !user.getRoles().contains(RoleName.ROLE_ADMIN)) {
+            throw new RuntimeException("Not authorized to delete this comment");
+        }
+        
+        Question question = comment.getQuestion();
+        int deleted = bulkDeleteService.deleteCommentSubtrees(List.of(commentId));
+        eventPublisher.publishEvent(QuestionActivityEvent.commented(question.getId(), question.getCategory(), -deleted));
+    }
+
+    public Vote voteOnComment(Long commentId, VoteType voteType, User user) {
+        Comment comment = commentRepository.findById(commentId)
+                .orElseThrow(() -> new RuntimeException("Comment not found"));
+        
+        // Check if user already voted
+        Optional<Vote> existingVote = voteRepository.findByUserAndComment(user, comment);
+        
+        if (existingVote.isPresent()) {
+            Vote vote = existingVote.get();
+            if (vote.getVoteType() == voteType) {
+                // Remove vote if clicking same vote type
+                voteRepository.delete(vote);
+                adjustVoteCounts(comment, user, voteType, null);
+                return null;
+            } else {
+                // Update vote type
+                VoteType previousType = vote.getVoteType();
+                vote.setVoteType(voteType);
+                adjustVoteCounts(comment, user, previousType, voteType);
+                return voteRepository.save(vote);
+            }
+        } else {
+            // Create new vote
+            Vote vote = new Vote(voteType, user, comment);
+            adjustVoteCounts(comment, user, null, voteType);
+            return voteRepository.save(vote);
+        }
+    }
+
+    private void adjustVoteCounts(Comment comment, User user, VoteType removed, VoteType added) {
+        Long commentId = comment.getId();
+        userVoteCache.recordVote(user.getId(), UserVoteCache.Kind.COMMENT, commentId, added);
+        voteMetrics.record(VoteMetrics.Target.COMMENT, removed, added);
+        int upDelta = (added == VoteType.UPVOTE ? 1 : 0) - (removed == VoteType.UPVOTE ? 1 : 0);
+        int downDelta = (added == VoteType.DOWNVOTE ? 1 : 0) - (removed == VoteType.DOWNVOTE ? 1 : 0);
+        commentRepository.adjustVoteCounts(commentId, upDelta, downDelta);
+        Question question = comment.getQuestion();
+        eventPublisher.publishEvent(QuestionActivityEvent.commentVoted(
+                question.getId(), question.getCategory(), commentId, upDelta, downDelta));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<CommentView> getUserComments(User user, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        return commentRepository.findViewsByUser(user, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<CommentView> getUserCommentFeed(User user, String cursor, int size) {
+        FeedCursor position = FeedCursor.decode(cursor);
+        int limit = Math.max(size, 1);
+        List<CommentView> rows = commentRepository.findViewsByUserBefore(
+                user.getId(), position.getCreatedAt(), position.getId(), PageRequest.of(0, limit + 1));
+        return CursorPage.of(rows, limit, view -> new FeedCursor(view.getCreatedAt(), view.getId()));
+    }
+
+    public Optional<Comment> getCommentById(Long commentId) {
+        return commentRepository.findById(commentId);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.event.QuestionActivityEvent;
+import com.yourcompany.weirdopinions.model.Question;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Second-level cache upkeep for writes Hibernate cannot see (native counter updates, write-behind JDBC
+// batches), plus per-region hit ratios. Everything that goes through the EntityManager is kept coherent
+// by Hibernate itself.
+@Service
+public class EntityCacheService {
+
+    public static final List<String> REGIONS = List.of(
+            "questions", "questions.pollOptions", "users", "users.roles", "query.feeds", "query.users");
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Runs before FeedVersionService bumps the feed validators, so no client can pair a new ETag with a
+    // feed page cached before the vote
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionActivity(QuestionActivityEvent event) {
+        if (event.getType() == QuestionActivityEvent.Type.VOTED) {
+            Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+            cache.evictEntityData(Question.class, event.getQuestionId());
+            cache.evictQueryRegion("query.feeds");
+        }
+    }
+
+    // Region name to hit ratio (NaN until the region has been read)
+    public Map<String, Double> hitRatios() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Double> ratios = new LinkedHashMap<>();
+        for (String region : REGIONS) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) {
+                stats = statistics.getQueryRegionStatistics(region);
+            }
+            if (stats == null) {
+                continue;
+            }
+            long hits = stats.getHitCount();
+            long lookups = hits + stats.getMissCount();
+            ratios.put(region, lookups == 0 ? Double.NaN : (double) hits / lookups);
+        }
+        return ratios;
+    }
+}
@@ -0,0 +1,55 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.event.QuestionActivityEvent;
+import com.yourcompany.weirdopinions.model.Category;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Versions of the public feeds, used as ETags. Every committed change that can alter a feed page bumps the
+// global version and its category's version; a request whose ETag still matches is answered 304 without
+// querying. ETags carry the boot time so they never repeat across restarts.
+@Service
+public class FeedVersionService {
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong global = new AtomicLong();
+    private final Map<Category, AtomicLong> byCategory = new EnumMap<>(Category.class);
+
+    public FeedVersionService() {
+        for (Category category : Category.values()) {
+            byCategory.put(category, new AtomicLong());
+        }
+    }
+
+    public long current() {
+        return global.get();
+    }
+
+    public long current(Category category) {
+        return byCategory.get(category).get();
+    }
+
+    public String etag(String scope, long version) {
+        return "\"" + scope + "-" + bootId + "-" + version + "\"";
+    }
+
+    // Ordered after EntityCacheService so cached feed queries are gone before a new stamp can be observed
+    @Order(10)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionActivity(QuestionActivityEvent event) {
+        // Feed pages show neither poll tallies nor comment votes
+        if (event.getType() == QuestionActivityEvent.Type.POLL_VOTED
+                || event.getType() == QuestionActivityEvent.Type.COMMENT_VOTED) {
+            return;
+        }
+        global.incrementAndGet();
+        if (event.getCategory() != null) {
+            byCategory.get(event.getCategory()).incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.dto.LiveUpdate;
+import com.yourcompany.weirdopinions.event.QuestionActivityEvent;
+import com.yourcompany.weirdopinions.model.Category;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Server-Sent Events for a single question or a (category) feed. Connections are async servlet requests,
+// so an idle subscriber holds no thread. Committed activity events are folded into each subscriber's
+// pending map; a dispatcher tick (maxUpdatesPerSecond times a second) hands non-empty maps to a small
+// sender pool. A send blocks its sender thread while the client's socket is full, so a send still running
+// after sendTimeoutMs is cancelled (interrupting the write) and that subscriber is disconnected, as is one
+// whose pending map overflows. Past maxSubscribers new subscriptions are refused.
+@Service
+public class LiveUpdateService {
+
+    @Value("${app.live.maxUpdatesPerSecond}")
+    private int maxUpdatesPerSecond;
+
+    @Value("${app.live.maxPendingPerSubscriber}")
+    private int maxPendingPerSubscriber;
+
+    @Value("${app.live.sendTimeoutMs}")
+    private long sendTimeoutMs;
+
+    @Value("${app.live.maxSubscribers}")
+    private int maxSubscribers;
+
+    @Value("${app.live.emitterTimeoutMs}")
+    private long emitterTimeoutMs;
+
+    @Value("${app.live.heartbeatIntervalMs}")
+    private long heartbeatIntervalMs;
+
+    @Value("${app.live.senderThreads}")
+    private int senderThreads;
+
+    private final Map<Long, Set<Subscriber>> questionSubscribers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> feedSubscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private ScheduledExecutorService dispatcher;
+    private ExecutorService senders;
+    private long lastHeartbeat = System.currentTimeMillis();
+
+    @PostConstruct
+    void start() {
+        dispatcher = Executors.newSingleThreadScheduledExecutor(daemon("live-dispatcher"));
+        senders = Executors.newFixedThreadPool(senderThreads, daemon("live-sender"));
+        long period = 1000L / Math.max(maxUpdatesPerSecond, 1);
+        dispatcher.scheduleAtFixedRate(this::dispatch, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        questionSubscribers.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+        feedSubscribers.forEach(s -> s.emitter.complete());
+    }
+
+    public SseEmitter subscribeToQuestion(Long questionId) {
+        reserve();
+        Subscriber subscriber = new Subscriber(questionId, null);
+        questionSubscribers.computeIfAbsent(questionId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        return open(subscriber);
+    }
+
+    // A null category subscribes to every question
+    public SseEmitter subscribeToFeed(Category category) {
+        reserve();
+        Subscriber subscriber = new Subscriber(null, category);
+        feedSubscribers.add(subscriber);
+        return open(subscriber);
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionActivity(QuestionActivityEvent event) {
+        Set<Subscriber> subscribers = questionSubscribers.get(event.getQuestionId());
+        if (subscribers != null) {
+            subscribers.forEach(subscriber -> subscriber.record(event));
+        }
+        for (Subscriber subscriber : feedSubscribers) {
+            if (subscriber.category == null || subscriber.category == event.getCategory()) {
+                subscriber.record(event);
+            }
+        }
+    }
+
+    private void reserve() {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new TooManySubscribersException();
+        }
+    }
+
+    private SseEmitter open(Subscriber subscriber) {
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(e -> remove(subscriber));
+        try {
+            subscriber.emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            remove(subscriber);
+        }
+        return subscriber.emitter;
+    }
+
+    private void dispatch() {
+        long now = System.currentTimeMillis();
+        boolean heartbeat = now - lastHeartbeat >= heartbeatIntervalMs;
+        if (heartbeat) {
+            lastHeartbeat = now;
+        }
+        questionSubscribers.values().forEach(subscribers -> subscribers.forEach(s -> dispatch(s, heartbeat)));
+        feedSubscribers.forEach(s -> dispatch(s, heartbeat));
+    }
+
+    private void dispatch(Subscriber subscriber, boolean heartbeat) {
+        Future<?> inFlight = subscriber.inFlight;
+        if (inFlight != null && !inFlight.isDone()) {
+            // Still queued, or blocked writing to a client that stopped reading
+            long startedAt = subscriber.sendStartedAt;
+            if (startedAt != 0 && System.currentTimeMillis() - startedAt > sendTimeoutMs) {
+                inFlight.cancel(true);
+                drop(subscriber);
+            }
+            return;
+        }
+
+        Map<Long, LiveUpdate> pending = subscriber.drain();
+        if (pending == null && !heartbeat) {
+            return;
+        }
+        subscriber.sendStartedAt = 0;
+        subscriber.inFlight = senders.submit(() -> {
+            if (subscriber.closed.get()) {
+                return;
+            }
+            subscriber.sendStartedAt = System.currentTimeMillis();
+            try {
+                if (pending != null) {
+                    subscriber.emitter.send(SseEmitter.event().name("updates").data(pending.values()));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                remove(subscriber);
+            }
+        });
+    }
+
+    private void drop(Subscriber subscriber) {
+        remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber.closed.getAndSet(true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        if (subscriber.questionId != null) {
+            questionSubscribers.computeIfPresent(subscriber.questionId, (id, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        } else {
+            feedSubscribers.remove(subscriber);
+        }
+    }
+
+    private static java.util.concurrent.ThreadFactory daemon(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public static class TooManySubscribersException extends RuntimeException {
+        public TooManySubscribersException() {
+            super("Too many live subscribers, please retry");
+        }
+    }
+
+    private class Subscriber {
+        private final SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        private final Long questionId;
+        private final Category category;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Future<?> inFlight;
+        private volatile long sendStartedAt;
+        private Map<Long, LiveUpdate> pending = new HashMap<>();
+
+        Subscriber(Long questionId, Category category) {
+            this.questionId = questionId;
+            this.category = category;
+        }
+
+        void record(QuestionActivityEvent event) {
+            boolean overflow;
+            synchronized (this) {
+                if (closed.get()) {
+                    return;
+                }
+                LiveUpdate update = pending.get(event.getQuestionId());
+                overflow = update == null && pending.size() >= maxPendingPerSubscriber;
+                if (!overflow) {
+                    if (update == null) {
+                        update = new LiveUpdate(event.getQuestionId());
+                        pending.put(event.getQuestionId(), update);
+                    }
+                    update.apply(event);
+                }
+            }
+            if (overflow) {
+                drop(this);
+            }
+        }
+
+        synchronized Map<Long, LiveUpdate> drain() {
+            if (pending.isEmpty()) {
+                return null;
+            }
+            Map<Long, LiveUpdate> drained = pending;
+            pending = new HashMap<>();
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yourcompany.weirdopinions.dto.PollResults;
+import com.yourcompany.weirdopinions.event.QuestionActivityEvent;
+import com.yourcompany.weirdopinions.repository.PollOptionCount;
+import com.yourcompany.weirdopinions.repository.PollOptionRow;
+import com.yourcompany.weirdopinions.repository.PollVoteRepository;
+import com.yourcompany.weirdopinions.repository.QuestionRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// Live poll results. Each poll gets one LongAdder per option, seeded lazily from a grouped COUNT and then
+// moved by committed poll-vote events, so concurrent voters on the same poll never contend on a lock.
+// Tallies are dropped after app.polls.tallyTtlMs and reseeded, which heals any event missed while seeding;
+// at most app.polls.maxTallies polls are held, least recently used evicted first.
+@Service
+public class PollTallyService {
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private PollVoteRepository pollVoteRepository;
+
+    @Value("${app.polls.tallyTtlMs}")
+    private long tallyTtlMs;
+
+    @Value("${app.polls.maxTallies}")
+    private int maxTallies;
+
+    private Cache<Long, Tally> tallies;
+
+    @PostConstruct
+    void init() {
+        tallies = Caffeine.newBuilder()
+                .maximumSize(maxTallies)
+                .expireAfterWrite(Duration.ofMillis(tallyTtlMs))
+                .build();
+    }
+
+    // Returns null when the question does not exist or has no poll
+    public PollResults getResults(Long questionId) {
+        Tally tally = tally(questionId);
+        if (tally == null) {
+            return null;
+        }
+        long[] counts = new long[tally.counts.length];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = tally.counts[i].sum();
+            total += counts[i];
+        }
+        return new PollResults(questionId, tally.options, counts, total);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionActivity(QuestionActivityEvent event) {
+        if (event.getType() == QuestionActivityEvent.Type.DELETED) {
+            tallies.invalidate(event.getQuestionId());
+            return;
+        }
+        if (event.getType() != QuestionActivityEvent.Type.POLL_VOTED) {
+            return;
+        }
+        // Unseeded polls are skipped: the seeding COUNT will already include this committed vote
+        Tally tally = tallies.getIfPresent(event.getQuestionId());
+        if (tally == null) {
+            return;
+        }
+        tally.move(event.getPreviousOptionIndex(), event.getOptionIndex());
+    }
+
+    // Seeded outside the cache's compute so a slow COUNT never blocks lookups of other polls
+    private Tally tally(Long questionId) {
+        Tally tally = tallies.getIfPresent(questionId);
+        if (tally != null) {
+            return tally;
+        }
+        Tally seeded = seed(questionId);
+        if (seeded == null) {
+            return null;
+        }
+        Tally existing = tallies.asMap().putIfAbsent(questionId, seeded);
+        return existing != null ? existing : seeded;
+    }
+
+    public long size() {
+        return tallies.estimatedSize();
+    }
+
+    private Tally seed(Long questionId) {
+        List<String> options = new ArrayList<>();
+        for (PollOptionRow row : questionRepository.findPollOptionRows(List.of(questionId))) {
+            options.add(row.getOptionText());
+        }
+        if (options.isEmpty()) {
+            return null;
+        }
+        Tally tally = new Tally(Collections.unmodifiableList(options));
+        for (PollOptionCount count : pollVoteRepository.countVotesByOption(questionId)) {
+            if (count.getOptionIndex() >= 0 && count.getOptionIndex() < tally.counts.length) {
+                tally.counts[count.getOptionIndex()].add(count.getVotes());
+            }
+        }
+        return tally;
+    }
+
+    private static class Tally {
+        private final List<String> options;
+        private final LongAdder[] counts;
+
+        Tally(List<String> options) {
+            this.options = options;
+            this.counts = new LongAdder[options.size()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        void move(int fromOption, int toOption) {
+            if (fromOption >= 0 && fromOption < counts.length) {
+                counts[fromOption].decrement();
+            }
+            if (toOption >= 0 && toOption < counts.length) {
+                counts[toOption].increment();
+            }
+        }
+    }
+}
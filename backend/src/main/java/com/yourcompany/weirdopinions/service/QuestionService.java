@@ -1,148 +1,290 @@
-package com.yourcompany.weirdopinions.service;
-
-import com.yourcompany.weirdopinions.model.*;
-import com.yourcompany.weirdopinions.repository.*;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.List;
-import java.util.Optional;
-
-@Service
-@Transactional
-public class QuestionService {
-
-    @Autowired
-    private QuestionRepository questionRepository;
-
-    @Autowired
-    private VoteRepository voteRepository;
-
-    @Autowired
-    private PollVoteRepository pollVoteRepository;
-
-    @Autowired
-    private UserService userService;
-
-    public Page<Question> getAllQuestions(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return questionRepository.findAllByOrderByCreatedAtDesc(pageable);
-    }
-
-    public Page<Question> getQuestionsByCategory(Category category, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return questionRepository.findByCategory(category, pageable);
-    }
-
-    public Optional<Question> getQuestionById(Long id) {
-        return questionRepository.findById(id);
-    }
-
-    public Question createQuestion(String title, String description, Category category, 
-                                 List<String> pollOptions, String imageUrl, User user) {
-        Question question = new Question(title, description, category, user);
-        question.setImageUrl(imageUrl);
-        
-        if (pollOptions != null && !pollOptions.isEmpty()) {
-            question.setPollOptions(pollOptions);
-            question.setHasPoll(true);
-        }
-        
-        return questionRepository.save(question);
-    }
-
-    public Question updateQuestion(Long questionId, String title, String description, User user) {
-        Question question = questionRepository.findById(questionId)
-                .orElseThrow(() -> new RuntimeException("Question not found"));
-        
-        if (!question.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Not authorized to update this question");
-        }
-        
-        question.setTitle(title);
-        question.setDescription(description);
-        return questionRepository.save(question);
-    }
-
-    public void deleteQuestion(Long questionId, User user) {
-        Question question = questionRepository.findById(questionId)
-                .orElseThrow(() -> new RuntimeException("Question not found"));
-        
-        if (!question.getUser().getId().equals(user.getId()) && 
-            !user.getRoles().contains(RoleName.ROLE_ADMIN)) {
-            throw new RuntimeException("Not authorized to delete this question");
-        }
-        
-        questionRepository.delete(question);
-    }
-
-    public Vote voteOnQuestion(Long questionId, VoteType voteType, User user) {
-        Question question = questionRepository.findById(questionId)
-                .orElseThrow(() -> new RuntimeException("Question not found"));
-        
-        // Check if user already voted
-        Optional<Vote> existingVote = voteRepository.findByUserAndQuestion(user, question);
-        
-        if (existingVote.isPresent()) {
-            Vote vote = existingVote.get();
-            if (vote.getVoteType() == voteType) {
-                // Remove vote if clicking same vote type
-                voteRepository.delete(vote);
-                return null;
-            } else {
-                // Update vote type
-                vote.setVoteType(voteType);
-                return voteRepository.save(vote);
-            }
-        } else {
-            // Create new vote
-            Vote vote = new Vote(voteType, user, question);
-            return voteRepository.save(vote);
-        }
-    }
-
-    public PollVote voteOnPoll(Long questionId, int optionIndex, User user) {
-        Question question = questionRepository.findById(questionId)
-                .orElseThrow(() -> new RuntimeException("Question not found"));
-        
-        if (!question.isHasPoll()) {
-            throw new RuntimeException("Question does not have a poll");
-        }
-        
-        if (optionIndex < 0 || optionIndex >= question.getPollOptions().size()) {
-            throw new RuntimeException("Invalid poll option");
-        }
-        
-        // Check if user already voted on poll
-        Optional<PollVote> existingVote = pollVoteRepository.findByUserAndQuestion(user, question);
-        
-        if (existingVote.isPresent()) {
-            PollVote vote = existingVote.get();
-            vote.setOptionIndex(optionIndex);
-            return pollVoteRepository.save(vote);
-        } else {
-            PollVote vote = new PollVote(optionIndex, user, question);
-            return pollVoteRepository.save(vote);
-        }
-    }
-
-    public List<Question> getTrendingQuestions() {
-        Instant since = Instant.now().minus(7, ChronoUnit.DAYS);
-        return questionRepository.findTrendingQuestions(since, PageRequest.of(0, 10));
-    }
-
-    public Page<Question> searchQuestions(String keyword, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return questionRepository.searchQuestions(keyword, pageable);
-    }
-
-    public Page<Question> getUserQuestions(User user, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return questionRepository.findByUserOrderByCreatedAtDesc(user, pageable);
-    }
\ No newline at end of file
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.dto.CursorPage;
+import com.yourcompany.weirdopinions.dto.FeedCursor;
+import com.yourcompany.weirdopinions.dto.PollResults;
+import com.yourcompany.weirdopinions.dto.QuestionDetail;
+import com.yourcompany.weirdopinions.dto.QuestionSummary;
+import com.yourcompany.weirdopinions.event.QuestionActivityEvent;
+import com.yourcompany.weirdopinions.model.*;
+import com.yourcompany.weirdopinions.repository.*;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Observed(name = "weirdopinions.service")
+@Transactional
+public class QuestionService {
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private PollVoteRepository pollVoteRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private CategoryFeedService categoryFeedService;
+
+    @Autowired
+    private PollTallyService pollTallyService;
+
+    @Autowired
+    private UserVoteCache userVoteCache;
+
+    @Autowired
+    private VoteMetrics voteMetrics;
+
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.search.maxPageSize}")
+    private int searchMaxPageSize;
+
+    @Value("${app.search.maxResultWindow}")
+    private int searchMaxResultWindow;
+
+    @Transactional(readOnly = true)
+    public Page<QuestionSummary> getAllQuestions(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        return questionRepository.findSummaries(pageable);
+    }
+
+    // The first pages come from the in-memory category segment without a connection; deeper pages
+    // fall back to the database
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Page<QuestionSummary> getQuestionsByCategory(Category category, int page, int size) {
+        return categoryFeedService.getPage(category, page, size).orElseGet(() ->
+                questionRepository.findSummariesByCategory(category, PageRequest.of(page, size)));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<QuestionSummary> getQuestionFeed(String cursor, int size) {
+        FeedCursor position = FeedCursor.decode(cursor);
+        int limit = Math.max(size, 1);
+        List<QuestionSummary> rows = questionRepository.findSummariesBefore(
+                position.getCreatedAt(), position.getId(), PageRequest.of(0, limit + 1));
+        return CursorPage.of(rows, limit, QuestionService::cursorOf);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CursorPage<QuestionSummary> getCategoryFeed(Category category, String cursor, int size) {
+        FeedCursor position = FeedCursor.decode(cursor);
+        int limit = Math.max(size, 1);
+        Optional<CursorPage<QuestionSummary>> cached = categoryFeedService.getFeed(category, position, limit);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        List<QuestionSummary> rows = questionRepository.findSummariesByCategoryBefore(
+                category, position.getCreatedAt(), position.getId(), PageRequest.of(0, limit + 1));
+        return CursorPage.of(rows, limit, QuestionService::cursorOf);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<QuestionSummary> getUserQuestionFeed(User user, String cursor, int size) {
+        FeedCursor position = FeedCursor.decode(cursor);
+        int limit = Math.max(size, 1);
+        List<QuestionSummary> rows = questionRepository.findSummariesByUserBefore(
+                user.getId(), position.getCreatedAt(), position.getId(), PageRequest.of(0, limit + 1));
+        return CursorPage.of(rows, limit, QuestionService::cursorOf);
+    }
+
+    private static FeedCursor cursorOf(QuestionSummary summary) {
+        return new FeedCursor(summary.getCreatedAt(), summary.getId());
+    }
+
+    public Optional<Question> getQuestionById(Long id) {
+        return questionRepository.findById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<QuestionDetail> getQuestionDetail(Long id) {
+        return questionRepository.findWithDetailsById(id)
+                .map(question -> QuestionDetail.from(question, commentRepository.countByQuestionId(id)));
+    }
+
+    public Question createQuestion(String title, String description, Category category, 
+                                 List<String> pollOptions, String imageUrl, User user) {
+        Question question = new Question(title, description, category, user);
+        question.setImageUrl(imageUrl);
+        
+        if (pollOptions != null && !pollOptions.isEmpty()) {
+            question.setPollOptions(pollOptions);
+            question.setHasPoll(true);
+        }
+        
+        Question saved = questionRepository.save(question);
+        eventPublisher.publishEvent(QuestionActivityEvent.of(
+                QuestionActivityEvent.Type.CREATED, saved.getId(), saved.getCategory()));
+        return saved;
+    }
+
+    public Question updateQuestion(Long questionId, String title, String description, User user) {
+        Question question = questionRepository.findById(questionId)
+                .orElseThrow(() -> new RuntimeException("Question not found"));
+        
+        if (!question.getUser().getId().equals(user.getId())) {
+            throw new RuntimeException("Not authorized to update this question");
+        }
+        
+        question.setTitle(title);
+        question.setDescription(description);
+        Question saved = questionRepository.save(question);
+        eventPublisher.publishEvent(QuestionActivityEvent.of(
+                QuestionActivityEvent.Type.UPDATED, saved.getId(), saved.getCategory()));
+        return saved;
+    }
+
+    public void deleteQuestion(Long questionId, User user) {
+        Question question = questionRepository.findById(questionId)
+                .orElseThrow(() -> new RuntimeException("Question not found"));
+        
+        if (!question.getUser().getId().equals(user.getId()) && 
+            !user.getRoles().contains(RoleName.ROLE_ADMIN)) {
+            throw new RuntimeException("Not authorized to delete this question");
+        }
+        
+        bulkDeleteService.deleteQuestions(List.of(questionId));
+        eventPublisher.publishEvent(QuestionActivityEvent.of(
+                QuestionActivityEvent.Type.DELETED, questionId, question.getCategory()));
+    }
+
+    public Vote voteOnQuestion(Long questionId, VoteType voteType, User user) {
+        Question question = questionRepository.findById(questionId)
+                .orElseThrow(() -> new RuntimeException("Question not found"));
+        
+        // Check if user already voted
+        Optional<Vote> existingVote = voteRepository.findByUserAndQuestion(user, question);
+        
+        if (existingVote.isPresent()) {
+            Vote vote = existingVote.get();
+            if (vote.getVoteType() == voteType) {
+                // Remove vote if clicking same vote type
+                voteRepository.delete(vote);
+                adjustVoteCounts(question, user, voteType, null);
+                return null;
+            } else {
+                // Update vote type
+                VoteType previousType = vote.getVoteType();
+                vote.setVoteType(voteType);
+                adjustVoteCounts(question, user, previousType, voteType);
+                return voteRepository.save(vote);
+            }
+        } else {
+            // Create new vote
+            Vote vote = new Vote(voteType, user, question);
+            adjustVoteCounts(question, user, null, voteType);
+            return voteRepository.save(vote);
+        }
+    }
+
+    private void adjustVoteCounts(Question question, User user, VoteType removed, VoteType added) {
+        userVoteCache.recordVote(user.getId(), UserVoteCache.Kind.QUESTION, question.getId(), added);
+        voteMetrics.record(VoteMetrics.Target.QUESTION, removed, added);
+        int upDelta = (added == VoteType.UPVOTE ? 1 : 0) - (removed == VoteType.UPVOTE ? 1 : 0);
+        int downDelta = (added == VoteType.DOWNVOTE ? 1 : 0) - (removed == VoteType.DOWNVOTE ? 1 : 0);
+        questionRepository.adjustVoteCounts(question.getId(), upDelta, downDelta);
+        eventPublisher.publishEvent(new QuestionActivityEvent(
+                QuestionActivityEvent.Type.VOTED, question.getId(), question.getCategory(), upDelta, downDelta));
+    }
+
+    public PollVote voteOnPoll(Long questionId, int optionIndex, User user) {
+        Question question = questionRepository.findById(questionId)
+                .orElseThrow(() -> new RuntimeException("Question not found"));
+        
+        if (!question.isHasPoll()) {
+            throw new RuntimeException("Question does not have a poll");
+        }
+        
+        if (optionIndex < 0 || optionIndex >= question.getPollOptions().size()) {
+            throw new RuntimeException("Invalid poll option");
+        }
+        
+        // Check if user already voted on poll
+        Optional<PollVote> existingVote = pollVoteRepository.findByUserAndQuestion(user, question);
+        
+        if (existingVote.isPresent()) {
+            PollVote vote = existingVote.get();
+            int previousOptionIndex = vote.getOptionIndex();
+            vote.setOptionIndex(optionIndex);
+            userVoteCache.recordPollVote(user.getId(), questionId, optionIndex);
+            if (previousOptionIndex != optionIndex) {
+                voteMetrics.record(VoteMetrics.Target.POLL, VoteMetrics.Outcome.CHANGED);
+                eventPublisher.publishEvent(QuestionActivityEvent.pollVoted(
+                        questionId, question.getCategory(), optionIndex, previousOptionIndex));
+            }
+            return pollVoteRepository.save(vote);
+        } else {
+            PollVote vote = new PollVote(optionIndex, user, question);
+            userVoteCache.recordPollVote(user.getId(), questionId, optionIndex);
+            voteMetrics.record(VoteMetrics.Target.POLL, VoteMetrics.Outcome.CAST);
+            eventPublisher.publishEvent(QuestionActivityEvent.pollVoted(
+                    questionId, question.getCategory(), optionIndex, -1));
+            return pollVoteRepository.save(vote);
+        }
+    }
+
+    // Served from memory; SUPPORTS keeps the class-level transaction from checking out a connection
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<PollResults> getPollResults(Long questionId) {
+        return Optional.ofNullable(pollTallyService.getResults(questionId));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<QuestionSummary> getTrendingQuestions() {
+        return trendingService.getTrending();
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<QuestionSummary> getTrendingQuestions(Category category) {
+        return trendingService.getTrending(category);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<QuestionSummary> searchQuestions(String keyword, int page, int size) {
+        // Ranking keeps the top (page + 1) * size hits, so deep pages are refused rather than ranked
+        if (page < 0 || size < 1 || size > searchMaxPageSize || (page + 1L) * size > searchMaxResultWindow) {
+            throw new IllegalArgumentException("page and size must stay within the first "
+                    + searchMaxResultWindow + " results, at most " + searchMaxPageSize + " per page");
+        }
+        if (searchIndexService.isReady()) {
+            return searchIndexService.search(keyword, page, size);
+        }
+        Pageable pageable = PageRequest.of(page, size);
+        return questionRepository.searchSummaries(keyword, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<QuestionSummary> getUserQuestions(User user, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        return questionRepository.findSummariesByUser(user, pageable);
+    }
+}
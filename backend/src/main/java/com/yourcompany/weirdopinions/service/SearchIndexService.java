@@ -0,0 +1,124 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.dto.QuestionSummary;
+import com.yourcompany.weirdopinions.event.QuestionActivityEvent;
+import com.yourcompany.weirdopinions.model.Question;
+import com.yourcompany.weirdopinions.repository.PollOptionRow;
+import com.yourcompany.weirdopinions.repository.QuestionRepository;
+import com.yourcompany.weirdopinions.repository.SearchDocument;
+import com.yourcompany.weirdopinions.search.InvertedIndex;
+import com.yourcompany.weirdopinions.search.Tokenizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class SearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Value("${app.search.rebuildBatchSize}")
+    private int rebuildBatchSize;
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    // Until the startup rebuild finishes, searches fall back to the LIKE query
+    private volatile boolean ready = false;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Page<QuestionSummary> search(String keyword, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        int offset = (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE);
+        InvertedIndex.Hits hits = index.search(Tokenizer.tokenize(keyword), offset, size);
+        if (hits.getQuestionIds().length == 0) {
+            return new PageImpl<>(List.of(), pageable, hits.getTotalHits());
+        }
+
+        List<Long> ids = new ArrayList<>(hits.getQuestionIds().length);
+        for (long id : hits.getQuestionIds()) {
+            ids.add(id);
+        }
+        Map<Long, QuestionSummary> summaries = questionRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(QuestionSummary::getId, Function.identity()));
+
+        List<QuestionSummary> ranked = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            QuestionSummary summary = summaries.get(id);
+            if (summary != null) {
+                ranked.add(summary);
+            }
+        }
+        return new PageImpl<>(ranked, pageable, hits.getTotalHits());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        index.clear();
+        Long lastId = 0L;
+        while (true) {
+            List<SearchDocument> batch = questionRepository.findSearchDocumentsAfter(
+                    lastId, PageRequest.of(0, rebuildBatchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            Map<Long, List<String>> pollOptions = new HashMap<>();
+            List<Long> ids = batch.stream().map(SearchDocument::getId).collect(Collectors.toList());
+            for (PollOptionRow row : questionRepository.findPollOptionRows(ids)) {
+                pollOptions.computeIfAbsent(row.getQuestionId(), id -> new ArrayList<>()).add(row.getOptionText());
+            }
+
+            for (SearchDocument document : batch) {
+                index.index(document.getId(), tokens(document.getTitle(), document.getDescription(),
+                        pollOptions.getOrDefault(document.getId(), List.of())));
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        ready = true;
+        logger.info("Search index built: {} questions, {} terms in {} ms",
+                index.documentCount(), index.termCount(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionActivity(QuestionActivityEvent event) {
+        switch (event.getType()) {
+            case CREATED, UPDATED -> questionRepository.findWithDetailsById(event.getQuestionId())
+                    .ifPresent(this::indexQuestion);
+            case DELETED -> index.remove(event.getQuestionId());
+            default -> { }
+        }
+    }
+
+    private void indexQuestion(Question question) {
+        index.index(question.getId(), tokens(question.getTitle(), question.getDescription(), question.getPollOptions()));
+    }
+
+    private static List<String> tokens(String title, String description, List<String> pollOptions) {
+        List<String> tokens = Tokenizer.tokenize(title, description);
+        tokens.addAll(Tokenizer.tokenize(pollOptions.toArray(new String[0])));
+        return tokens;
+    }
+}
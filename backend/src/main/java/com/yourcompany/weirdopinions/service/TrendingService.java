@@ -0,0 +1,287 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.dto.QuestionSummary;
+import com.yourcompany.weirdopinions.event.QuestionActivityEvent;
+import com.yourcompany.weirdopinions.model.Category;
+import com.yourcompany.weirdopinions.repository.QuestionRepository;
+import com.yourcompany.weirdopinions.repository.TrendingSeed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// In-memory trending: each question keeps an exponentially decaying activity score. Scores are stored
+// relative to a shared epoch (an event of weight w at time t adds w * e^(lambda * (t - epoch))), so decay
+// never changes relative order and nothing is rescored as time passes; the scheduled rebalance folds the
+// elapsed decay in, evicts cold entries and publishes an immutable top-K snapshot that reads serve as-is.
+@Service
+public class TrendingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+
+    private static final double CREATED_WEIGHT = 1.0;
+    private static final double UPVOTE_WEIGHT = 1.0;
+    private static final double DOWNVOTE_WEIGHT = -1.0;
+    private static final double POLL_VOTE_WEIGHT = 0.5;
+    private static final double COMMENT_WEIGHT = 2.0;
+    private static final double EVICTION_THRESHOLD = 0.01;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Value("${app.trending.size}")
+    private int size;
+
+    @Value("${app.trending.maxTracked}")
+    private int maxTracked;
+
+    @Value("${app.trending.halfLifeHours}")
+    private double halfLifeHours;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // Events add scores under the shared lock; rebalance takes it exclusively to move the epoch
+    private final ReadWriteLock epochLock = new ReentrantReadWriteLock();
+    private Instant epoch = Instant.now();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private final AtomicLong snapshotVersions = new AtomicLong();
+
+    public List<QuestionSummary> getTrending() {
+        return snapshot.global;
+    }
+
+    public List<QuestionSummary> getTrending(Category category) {
+        return snapshot.byCategory.getOrDefault(category, Collections.emptyList());
+    }
+
+    // Changes whenever the published lists change; HTTP validator for the trending endpoints
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionActivity(QuestionActivityEvent event) {
+        switch (event.getType()) {
+            case CREATED -> record(event.getQuestionId(), event.getCategory(), CREATED_WEIGHT, event.getOccurredAt());
+            case VOTED -> record(event.getQuestionId(), event.getCategory(),
+                    event.getUpDelta() * UPVOTE_WEIGHT + event.getDownDelta() * DOWNVOTE_WEIGHT,
+                    event.getOccurredAt());
+            case POLL_VOTED -> record(event.getQuestionId(), event.getCategory(),
+                    event.getPreviousOptionIndex() < 0 ? POLL_VOTE_WEIGHT
+                            : event.getOptionIndex() < 0 ? -POLL_VOTE_WEIGHT : 0, event.getOccurredAt());
+            case COMMENTED -> record(event.getQuestionId(), event.getCategory(),
+                    event.getCommentDelta() * COMMENT_WEIGHT, event.getOccurredAt());
+            case DELETED -> remove(event.getQuestionId());
+            case UPDATED, COMMENT_VOTED -> { }
+        }
+    }
+
+    private void record(Long questionId, Category category, double weight, Instant at) {
+        if (weight == 0) {
+            return;
+        }
+        epochLock.readLock().lock();
+        try {
+            // Withdrawn activity (retracted votes, deleted comments) only lowers questions that are already tracked
+            Entry entry = weight > 0 ? entries.computeIfAbsent(questionId, id -> new Entry(category))
+                    : entries.get(questionId);
+            if (entry != null) {
+                entry.score.add(weight * growth(epoch, at));
+            }
+        } finally {
+            epochLock.readLock().unlock();
+        }
+    }
+
+    private void remove(Long questionId) {
+        entries.remove(questionId);
+        Snapshot current = snapshot;
+        snapshot = new Snapshot(snapshotVersions.incrementAndGet(), without(current.global, questionId),
+                current.byCategory.entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, e -> without(e.getValue(), questionId),
+                                (a, b) -> a, () -> new EnumMap<>(Category.class))));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Instant now = Instant.now();
+        Instant since = now.minus(7, ChronoUnit.DAYS);
+        List<TrendingSeed> seeds = questionRepository.findTrendingSeeds(since);
+        epochLock.writeLock().lock();
+        try {
+            epoch = now;
+            for (TrendingSeed seed : seeds) {
+                double weight = CREATED_WEIGHT
+                        + seed.getUpvoteCount() * UPVOTE_WEIGHT
+                        + seed.getDownvoteCount() * DOWNVOTE_WEIGHT
+                        + seed.getCommentCount() * COMMENT_WEIGHT;
+                entries.computeIfAbsent(seed.getId(), id -> new Entry(seed.getCategory()))
+                        .score.add(weight * growth(epoch, seed.getCreatedAt()));
+            }
+        } finally {
+            epochLock.writeLock().unlock();
+        }
+        rebalance();
+        logger.info("Trending engine seeded with {} questions", seeds.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.rebalanceIntervalMs}",
+               initialDelayString = "${app.trending.rebalanceIntervalMs}")
+    public void rebalance() {
+        epochLock.writeLock().lock();
+        try {
+            Instant now = Instant.now();
+            double decay = 1.0 / growth(epoch, now);
+            for (Entry entry : entries.values()) {
+                double rescaled = entry.score.sumThenReset() * decay;
+                entry.score.add(rescaled);
+            }
+            epoch = now;
+        } finally {
+            epochLock.writeLock().unlock();
+        }
+
+        entries.values().removeIf(entry -> Math.abs(entry.score.sum()) < EVICTION_THRESHOLD);
+        if (entries.size() > maxTracked) {
+            entries.entrySet().stream()
+                    .sorted(Comparator.comparingDouble(e -> e.getValue().score.sum()))
+                    .limit(entries.size() - maxTracked)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList())
+                    .forEach(entries::remove);
+        }
+
+        Snapshot current = snapshot;
+        Snapshot rebuilt = buildSnapshot(current.version);
+        // Unchanged lists keep their version, so the trending ETags only move when the response would
+        if (!rebuilt.global.equals(current.global) || !rebuilt.byCategory.equals(current.byCategory)) {
+            snapshot = new Snapshot(snapshotVersions.incrementAndGet(), rebuilt.global, rebuilt.byCategory);
+        }
+    }
+
+    private Snapshot buildSnapshot(long version) {
+        Map<Category, PriorityQueue<Ranked>> perCategory = new EnumMap<>(Category.class);
+        PriorityQueue<Ranked> global = new PriorityQueue<>();
+        entries.forEach((id, entry) -> {
+            double score = entry.score.sum();
+            if (score <= 0) {
+                return;
+            }
+            Ranked ranked = new Ranked(id, score);
+            offer(global, ranked);
+            if (entry.category != null) {
+                offer(perCategory.computeIfAbsent(entry.category, c -> new PriorityQueue<>()), ranked);
+            }
+        });
+
+        Set<Long> ids = new HashSet<>();
+        global.forEach(r -> ids.add(r.id));
+        perCategory.values().forEach(queue -> queue.forEach(r -> ids.add(r.id)));
+        if (ids.isEmpty()) {
+            return new Snapshot(version, Collections.emptyList(), Collections.emptyMap());
+        }
+
+        Map<Long, QuestionSummary> summaries = questionRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(QuestionSummary::getId, Function.identity()));
+
+        Map<Category, List<QuestionSummary>> byCategory = new EnumMap<>(Category.class);
+        perCategory.forEach((category, queue) -> byCategory.put(category, ordered(queue, summaries)));
+        return new Snapshot(version, ordered(global, summaries), byCategory);
+    }
+
+    private void offer(PriorityQueue<Ranked> queue, Ranked ranked) {
+        if (queue.size() < size) {
+            queue.add(ranked);
+        } else if (queue.peek().score < ranked.score) {
+            queue.poll();
+            queue.add(ranked);
+        }
+    }
+
+    private static List<QuestionSummary> ordered(PriorityQueue<Ranked> queue, Map<Long, QuestionSummary> summaries) {
+        List<Ranked> ranked = new ArrayList<>(queue);
+        ranked.sort(Comparator.reverseOrder());
+        List<QuestionSummary> result = new ArrayList<>(ranked.size());
+        for (Ranked r : ranked) {
+            QuestionSummary summary = summaries.get(r.id);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static List<QuestionSummary> without(List<QuestionSummary> list, Long questionId) {
+        return list.stream().filter(s -> !s.getId().equals(questionId))
+                .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+    }
+
+    private double growth(Instant from, Instant to) {
+        double hours = Duration.between(from, to).toMillis() / 3_600_000.0;
+        return Math.exp(Math.log(2) * hours / halfLifeHours);
+    }
+
+    private static class Entry {
+        private final Category category;
+        private final DoubleAdder score = new DoubleAdder();
+
+        Entry(Category category) {
+            this.category = category;
+        }
+    }
+
+    private static class Ranked implements Comparable<Ranked> {
+        private final Long id;
+        private final double score;
+
+        Ranked(Long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Ranked other) {
+            return Double.compare(score, other.score);
+        }
+    }
+
+    private static class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(0, Collections.emptyList(), Collections.emptyMap());
+
+        private final long version;
+        private final List<QuestionSummary> global;
+        private final Map<Category, List<QuestionSummary>> byCategory;
+
+        Snapshot(long version, List<QuestionSummary> global, Map<Category, List<QuestionSummary>> byCategory) {
+            this.version = version;
+            this.global = global;
+            this.byCategory = byCategory;
+        }
+    }
+}
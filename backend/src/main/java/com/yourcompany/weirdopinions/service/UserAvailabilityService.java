@@ -0,0 +1,188 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.repository.UserKey;
+import com.yourcompany.weirdopinions.repository.UserRepository;
+import com.yourcompany.weirdopinions.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+// Answers username/email availability from Bloom filters over lowercased values: a miss means the name is
+// definitely free, and only a possible hit reaches the database. Deleted users stay in the filters (a stale
+// bit just costs one exists query) until the scheduled rebuild, which also resizes filters that filled up.
+// New users are added once their transaction commits: by then either a running rebuild takes them through
+// its building filters, or a rebuild that starts later reads them from the table.
+@Service
+public class UserAvailabilityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.availability.minExpectedUsers}")
+    private long minExpectedUsers;
+
+    @Value("${app.availability.falsePositiveRate}")
+    private double falsePositiveRate;
+
+    @Value("${app.availability.rebuildBatchSize}")
+    private int rebuildBatchSize;
+
+    private volatile Filters filters;
+
+    // Filters under construction; users committed while a rebuild runs are added here too
+    private volatile Filters building;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder databaseChecks = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public boolean isUsernameTaken(String username) {
+        Filters current = filters;
+        return isTaken(current != null ? current.usernames : null, username,
+                () -> userRepository.existsByUsername(username));
+    }
+
+    public boolean isEmailTaken(String email) {
+        Filters current = filters;
+        return isTaken(current != null ? current.emails : null, email,
+                () -> userRepository.existsByEmail(email));
+    }
+
+    public void register(String username, String email) {
+        afterCommit(() -> add(username, email));
+    }
+
+    // building before filters: a rebuild publishes its filters before clearing building, so a swap between
+    // the two reads still leaves the user in the filters that end up published
+    private void add(String username, String email) {
+        Filters next = building;
+        if (next != null) {
+            next.add(username, email);
+        }
+        Filters current = filters;
+        if (current != null) {
+            current.add(username, email);
+        }
+    }
+
+    private boolean isTaken(BloomFilter filter, String value, BooleanSupplier exists) {
+        lookups.increment();
+        if (filter != null && value != null && !filter.mightContain(normalize(value))) {
+            return false;
+        }
+        databaseChecks.increment();
+        boolean taken = exists.getAsBoolean();
+        if (!taken && filter != null) {
+            falsePositives.increment();
+        }
+        return taken;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.availability.rebuildIntervalMs}",
+               initialDelayString = "${app.availability.rebuildIntervalMs}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        long expected = Math.max(minExpectedUsers, userRepository.count() * 2);
+        Filters next = new Filters(expected, falsePositiveRate);
+        building = next;
+        try {
+            Long lastId = 0L;
+            while (true) {
+                List<UserKey> batch = userRepository.findUserKeysAfter(lastId, PageRequest.of(0, rebuildBatchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (UserKey key : batch) {
+                    next.add(key.getUsername(), key.getEmail());
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            filters = next;
+        } finally {
+            building = null;
+        }
+        logger.info("Availability filters built for {} users ({} bytes) in {} ms",
+                next.usernames.insertions(), memoryBytes(), System.currentTimeMillis() - started);
+    }
+
+    public long memoryBytes() {
+        Filters current = filters;
+        return current == null ? 0 : current.usernames.memoryBytes() + current.emails.memoryBytes();
+    }
+
+    public double expectedFalsePositiveRate() {
+        Filters current = filters;
+        return current == null ? 0 : Math.max(current.usernames.expectedFalsePositiveRate(),
+                current.emails.expectedFalsePositiveRate());
+    }
+
+    // Share of database checks that found the name free after the filter reported a possible hit
+    public double observedFalsePositiveRate() {
+        long checks = databaseChecks.sum();
+        return checks == 0 ? 0 : (double) falsePositives.sum() / checks;
+    }
+
+    public long lookupCount() {
+        return lookups.sum();
+    }
+
+    public long databaseCheckCount() {
+        return databaseChecks.sum();
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Filters {
+        private final BloomFilter usernames;
+        private final BloomFilter emails;
+
+        Filters(long expectedInsertions, double falsePositiveRate) {
+            usernames = new BloomFilter(expectedInsertions, falsePositiveRate);
+            emails = new BloomFilter(expectedInsertions, falsePositiveRate);
+        }
+
+        void add(String username, String email) {
+            if (username != null) {
+                usernames.add(normalize(username));
+            }
+            if (email != null) {
+                emails.add(normalize(email));
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.yourcompany.weirdopinions.service.CustomUserDetailsService.UserPrincipal;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Short-lived principals indexed by username and id so authenticated requests skip the users table.
+// UserService invalidates on every write; the TTL bounds staleness from changes made elsewhere.
+// Both indexes are bounded; whatever leaves the id index also leaves the username index.
+@Component
+public class UserPrincipalCache {
+
+    @Value("${app.principalCache.ttlMs}")
+    private long ttlMs;
+
+    @Value("${app.principalCache.maxSize}")
+    private int maxSize;
+
+    private Cache<String, UserPrincipal> byUsername;
+    private Cache<Long, UserPrincipal> byId;
+
+    @PostConstruct
+    void init() {
+        byUsername = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+        byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .executor(Runnable::run)
+                .<Long, UserPrincipal>removalListener((id, principal, cause) -> {
+                    if (principal != null && cause != RemovalCause.REPLACED) {
+                        byUsername.asMap().remove(principal.getUsername(), principal);
+                    }
+                })
+                .build();
+    }
+
+    public UserPrincipal getByUsername(String username) {
+        return byUsername.getIfPresent(username);
+    }
+
+    public UserPrincipal getById(Long id) {
+        return byId.getIfPresent(id);
+    }
+
+    public void put(UserPrincipal principal) {
+        byId.put(principal.getId(), principal);
+        byUsername.put(principal.getUsername(), principal);
+    }
+
+    public void invalidate(Long userId) {
+        byId.invalidate(userId);
+    }
+
+    public long size() {
+        return byId.estimatedSize();
+    }
+}
@@ -0,0 +1,206 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yourcompany.weirdopinions.model.VoteType;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Each active user's recent vote states, so the "my votes" lookup for a feed page usually skips the votes
+// tables. A user's states live in one open-addressed long -> byte table keyed by (kind, target id) and
+// include explicit "no vote" entries, so ids looked up once are answered from memory until the TTL.
+// Past maxUsers the least recently useful user is evicted, so newly active users are still cached.
+// Vote paths record their outcome after commit; a lookup that raced with a vote never overwrites it.
+@Component
+public class UserVoteCache {
+
+    public enum Kind {
+        QUESTION, COMMENT, POLL
+    }
+
+    // Cell states: UNKNOWN is never stored, NONE means the user has no vote on the target, anything
+    // above is VoteType ordinal + 1 (question and comment votes) or poll option index + 1
+    public static final int UNKNOWN = -1;
+    public static final int NONE = 0;
+
+    @Value("${app.myVotes.cache.enabled}")
+    private boolean enabled;
+
+    @Value("${app.myVotes.cache.ttlMs}")
+    private long ttlMs;
+
+    @Value("${app.myVotes.cache.maxUsers}")
+    private int maxUsers;
+
+    @Value("${app.myVotes.cache.maxEntriesPerUser}")
+    private int maxEntriesPerUser;
+
+    private Cache<Long, UserVotes> byUser;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        byUser = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    // The user's table, created on first use; null when the cache is off
+    public UserVotes forUser(Long userId) {
+        if (!enabled) {
+            return null;
+        }
+        return byUser.get(userId, ignored -> new UserVotes(maxEntriesPerUser));
+    }
+
+    public void recordVote(Long userId, Kind kind, Long targetId, VoteType voteType) {
+        afterCommit(() -> record(userId, kind, targetId, stateOf(voteType)));
+    }
+
+    public void recordPollVote(Long userId, Long questionId, int optionIndex) {
+        afterCommit(() -> record(userId, Kind.POLL, questionId, optionIndex + 1));
+    }
+
+    public void invalidate(Long userId) {
+        byUser.invalidate(userId);
+    }
+
+    public static int stateOf(VoteType voteType) {
+        return voteType == null ? NONE : voteType.ordinal() + 1;
+    }
+
+    public static VoteType voteTypeOf(int state) {
+        return state > NONE ? VoteType.values()[state - 1] : null;
+    }
+
+    void countLookup(boolean hit) {
+        (hit ? hits : misses).increment();
+    }
+
+    // Stats
+    public boolean isEnabled() { return enabled; }
+    public long getUserCount() { return byUser.estimatedSize(); }
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+
+    private void record(Long userId, Kind kind, Long targetId, int state) {
+        UserVotes votes = forUser(userId);
+        if (votes != null) {
+            votes.put(kind, targetId, state);
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    // Linear-probing table of (target id << 2 | kind + 1) -> state; 0 marks an empty slot. Once it holds
+    // maxEntries it starts over, which keeps the memory per user bounded at roughly 12 bytes per entry.
+    public static class UserVotes {
+        private final int maxEntries;
+        private long[] keys = new long[16];
+        private byte[] states = new byte[16];
+        private int size;
+        private long version;
+
+        UserVotes(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public synchronized long version() {
+            return version;
+        }
+
+        public synchronized int get(Kind kind, long targetId) {
+            long key = key(kind, targetId);
+            for (int slot = slot(key, keys.length); keys[slot] != 0; slot = (slot + 1) & (keys.length - 1)) {
+                if (keys[slot] == key) {
+                    return states[slot];
+                }
+            }
+            return UNKNOWN;
+        }
+
+        synchronized void put(Kind kind, long targetId, int state) {
+            version++;
+            store(key(kind, targetId), state);
+        }
+
+        // Stores database answers read at readVersion; skipped if a vote was recorded meanwhile
+        synchronized void putAll(long readVersion, Kind kind, Map<Long, Integer> values) {
+            if (version != readVersion) {
+                return;
+            }
+            values.forEach((targetId, state) -> store(key(kind, targetId), state));
+        }
+
+        private void store(long key, int state) {
+            int slot = slot(key, keys.length);
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            if (keys[slot] == key) {
+                states[slot] = (byte) state;
+                return;
+            }
+            if (size >= maxEntries) {
+                keys = new long[16];
+                states = new byte[16];
+                size = 0;
+            } else if ((size + 1) * 4 > keys.length * 3) {
+                resize(keys.length * 2);
+            }
+            insert(key, state);
+        }
+
+        private void insert(long key, int state) {
+            int slot = slot(key, keys.length);
+            while (keys[slot] != 0) {
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            keys[slot] = key;
+            states[slot] = (byte) state;
+            size++;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            byte[] oldStates = states;
+            keys = new long[capacity];
+            states = new byte[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    insert(oldKeys[i], oldStates[i]);
+                }
+            }
+        }
+
+        private static long key(Kind kind, long targetId) {
+            return (targetId << 2) | (kind.ordinal() + 1);
+        }
+
+        private static int slot(long key, int length) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & (length - 1);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.model.VoteType;
+import com.yourcompany.weirdopinions.repository.CommentRepository;
+import com.yourcompany.weirdopinions.repository.QuestionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// Rebuilds the denormalized vote counters on questions and comments from the votes table, and the
+// comment reply counters from the comments table
+@Service
+public class VoteCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteCountReconciler.class);
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Scheduled(cron = "${app.voteCounts.reconcileCron}")
+    @Transactional
+    public void reconcile() {
+        int questions = questionRepository.reconcileVoteCounts(VoteType.UPVOTE, VoteType.DOWNVOTE);
+        int comments = commentRepository.reconcileVoteCounts(VoteType.UPVOTE, VoteType.DOWNVOTE);
+        commentRepository.reconcileReplyCounts();
+        logger.info("Reconciled vote counters for {} questions and {} comments", questions, comments);
+    }
+}
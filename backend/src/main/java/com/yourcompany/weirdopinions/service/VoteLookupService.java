@@ -0,0 +1,114 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.dto.MyVotes;
+import com.yourcompany.weirdopinions.model.VoteType;
+import com.yourcompany.weirdopinions.repository.PollVoteRepository;
+import com.yourcompany.weirdopinions.repository.UserPollVoteRow;
+import com.yourcompany.weirdopinions.repository.UserVoteRow;
+import com.yourcompany.weirdopinions.repository.VoteRepository;
+import com.yourcompany.weirdopinions.service.UserVoteCache.Kind;
+import com.yourcompany.weirdopinions.service.UserVoteCache.UserVotes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Answers "how did I vote on these" for a whole page at once: ids the user's cache entry knows are served
+// from memory and the rest are read with one indexed query per kind. Deliberately not @Transactional, so a
+// fully cached answer never checks out a connection; each query runs in the repository's read-only transaction.
+@Service
+public class VoteLookupService {
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private PollVoteRepository pollVoteRepository;
+
+    @Autowired
+    private UserVoteCache userVoteCache;
+
+    public MyVotes getMyVotes(Long userId, Collection<Long> questionIds, Collection<Long> commentIds) {
+        UserVotes cached = userVoteCache.forUser(userId);
+        Collection<Long> questions = new LinkedHashSet<>(questionIds);
+        Collection<Long> comments = new LinkedHashSet<>(commentIds);
+
+        Map<Long, Integer> questionStates = states(cached, Kind.QUESTION, questions,
+                ids -> voteStates(voteRepository.findQuestionVotes(userId, ids)));
+        Map<Long, Integer> commentStates = states(cached, Kind.COMMENT, comments,
+                ids -> voteStates(voteRepository.findCommentVotes(userId, ids)));
+        Map<Long, Integer> pollStates = states(cached, Kind.POLL, questions,
+                ids -> pollStates(pollVoteRepository.findUserPollVotes(userId, ids)));
+
+        Map<Long, VoteType> questionVotes = new LinkedHashMap<>();
+        questionStates.forEach((id, state) -> {
+            if (state != UserVoteCache.NONE) {
+                questionVotes.put(id, UserVoteCache.voteTypeOf(state));
+            }
+        });
+        Map<Long, VoteType> commentVotes = new LinkedHashMap<>();
+        commentStates.forEach((id, state) -> {
+            if (state != UserVoteCache.NONE) {
+                commentVotes.put(id, UserVoteCache.voteTypeOf(state));
+            }
+        });
+        Map<Long, Integer> pollOptions = new LinkedHashMap<>();
+        pollStates.forEach((id, state) -> {
+            if (state != UserVoteCache.NONE) {
+                pollOptions.put(id, state - 1);
+            }
+        });
+        return new MyVotes(questionVotes, commentVotes, pollOptions);
+    }
+
+    // State per requested id, cached where known and loaded otherwise; loaded ids without a row read as NONE
+    private Map<Long, Integer> states(UserVotes cached, Kind kind, Collection<Long> ids,
+                                      Function<List<Long>, Map<Long, Integer>> load) {
+        Map<Long, Integer> states = new LinkedHashMap<>();
+        if (ids.isEmpty()) {
+            return states;
+        }
+        long version = cached != null ? cached.version() : 0;
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            int state = cached != null ? cached.get(kind, id) : UserVoteCache.UNKNOWN;
+            if (cached != null) {
+                userVoteCache.countLookup(state != UserVoteCache.UNKNOWN);
+            }
+            if (state == UserVoteCache.UNKNOWN) {
+                missing.add(id);
+            } else {
+                states.put(id, state);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, Integer> loaded = new HashMap<>();
+            missing.forEach(id -> loaded.put(id, UserVoteCache.NONE));
+            loaded.putAll(load.apply(missing));
+            if (cached != null) {
+                cached.putAll(version, kind, loaded);
+            }
+            states.putAll(loaded);
+        }
+        return states;
+    }
+
+    private static Map<Long, Integer> voteStates(List<UserVoteRow> rows) {
+        Map<Long, Integer> states = new HashMap<>();
+        rows.forEach(row -> states.put(row.getTargetId(), UserVoteCache.stateOf(row.getVoteType())));
+        return states;
+    }
+
+    private static Map<Long, Integer> pollStates(List<UserPollVoteRow> rows) {
+        Map<Long, Integer> states = new HashMap<>();
+        rows.forEach(row -> states.put(row.getQuestionId(), row.getOptionIndex() + 1));
+        return states;
+    }
+}
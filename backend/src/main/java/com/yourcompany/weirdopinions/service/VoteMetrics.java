@@ -0,0 +1,53 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.model.VoteType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Counts applied vote changes for both the synchronous and the write-behind path. Counters are registered
+// once up front, so recording is a map lookup and an increment. Counted where the change is applied, so a
+// transaction that later rolls back is still counted.
+@Component
+public class VoteMetrics {
+
+    public enum Target {
+        QUESTION, COMMENT, POLL
+    }
+
+    // CHANGED is a switch to the other vote type (or another poll option), RETRACTED a click on the same one
+    public enum Outcome {
+        CAST, CHANGED, RETRACTED
+    }
+
+    private final Map<Target, Map<Outcome, Counter>> counters = new EnumMap<>(Target.class);
+
+    public VoteMetrics(MeterRegistry registry) {
+        for (Target target : Target.values()) {
+            Map<Outcome, Counter> byOutcome = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                byOutcome.put(outcome, Counter.builder("weirdopinions.votes")
+                        .description("Vote changes applied")
+                        .tag("target", target.name().toLowerCase())
+                        .tag("outcome", outcome.name().toLowerCase())
+                        .register(registry));
+            }
+            counters.put(target, byOutcome);
+        }
+    }
+
+    // removed/added as passed to the vote count adjustments; no change counts nothing
+    public void record(Target target, VoteType removed, VoteType added) {
+        if (removed == added) {
+            return;
+        }
+        record(target, removed == null ? Outcome.CAST : added == null ? Outcome.RETRACTED : Outcome.CHANGED);
+    }
+
+    public void record(Target target, Outcome outcome) {
+        counters.get(target).get(outcome).increment();
+    }
+}
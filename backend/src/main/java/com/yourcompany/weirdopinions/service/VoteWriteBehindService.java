@@ -0,0 +1,485 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.event.QuestionActivityEvent;
+import com.yourcompany.weirdopinions.model.Category;
+import com.yourcompany.weirdopinions.model.VoteType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+// Optional write-behind path for question and poll votes (app.votes.writeBehind.enabled). Votes are accepted
+// into a bounded queue; a single flusher thread drains it once per window, coalesces repeated clicks per
+// (user, target) against the stored state, and writes the net result with batched MERGE upserts in one
+// transaction. Stored votes are read FOR UPDATE and each upsert only matches the row that was read, so a
+// synchronous vote racing the window makes it fail instead of skewing the counters; a failed window is
+// retried one (user, target) at a time, so only the keys that still fail lose their votes.
+// In ENQUEUE ack mode callers return as soon as the vote is queued (votes still queued are lost on a crash);
+// in FLUSH mode they wait until the batch holding their vote has committed.
+@Service
+public class VoteWriteBehindService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteWriteBehindService.class);
+
+    public enum AckMode {
+        ENQUEUE, FLUSH
+    }
+
+    private enum Target {
+        QUESTION, POLL
+    }
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UserVoteCache userVoteCache;
+
+    @Autowired
+    private VoteMetrics voteMetrics;
+
+    @Value("${app.votes.writeBehind.enabled}")
+    private boolean enabled;
+
+    @Value("${app.votes.writeBehind.queueCapacity}")
+    private int queueCapacity;
+
+    @Value("${app.votes.writeBehind.flushIntervalMs}")
+    private long flushIntervalMs;
+
+    @Value("${app.votes.writeBehind.maxBatchSize}")
+    private int maxBatchSize;
+
+    @Value("${app.votes.writeBehind.offerTimeoutMs}")
+    private long offerTimeoutMs;
+
+    @Value("${app.votes.writeBehind.ackMode}")
+    private AckMode ackMode;
+
+    @Value("${app.votes.writeBehind.ackTimeoutMs}")
+    private long ackTimeoutMs;
+
+    private BlockingQueue<VoteIntent> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread flusher;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        running = true;
+        flusher = new Thread(this::runFlusher, "vote-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void submitQuestionVote(Long userId, Long questionId, VoteType voteType) {
+        submit(new VoteIntent(Target.QUESTION, userId, questionId, voteType, -1));
+    }
+
+    public void submitPollVote(Long userId, Long questionId, int optionIndex) {
+        submit(new VoteIntent(Target.POLL, userId, questionId, null, optionIndex));
+    }
+
+    public int queuedVotes() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    private void submit(VoteIntent intent) {
+        if (!enabled) {
+            throw new IllegalStateException("Vote write-behind is disabled");
+        }
+        try {
+            if (!queue.offer(intent, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new VoteQueueFullException();
+            }
+            if (ackMode == AckMode.FLUSH) {
+                intent.ack.get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while submitting vote");
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Timed out waiting for vote to be stored");
+        }
+    }
+
+    private void runFlusher() {
+        while (running || !queue.isEmpty()) {
+            try {
+                if (running) {
+                    Thread.sleep(flushIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                // Shutting down: fall through and drain what is left
+            }
+            flushQueued();
+        }
+    }
+
+    // One window: drains up to maxBatchSize queued votes and writes them
+    void flushQueued() {
+        List<VoteIntent> batch = new ArrayList<>(maxBatchSize);
+        queue.drainTo(batch, maxBatchSize);
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to flush {} queued votes; retrying them one (user, target) at a time", batch.size(), e);
+            batch.stream()
+                    .collect(Collectors.groupingBy(intent -> intent.target, LinkedHashMap::new,
+                            Collectors.groupingBy(intent -> new VoteKey(intent.userId, intent.targetId),
+                                    LinkedHashMap::new, Collectors.toList())))
+                    .values()
+                    .forEach(byKey -> byKey.values().forEach(this::retry));
+        }
+    }
+
+    private void retry(List<VoteIntent> intents) {
+        try {
+            write(intents);
+        } catch (RuntimeException e) {
+            VoteIntent first = intents.get(0);
+            logger.error("Dropped {} queued {} votes of user {} on {}", intents.size(),
+                    first.target.name().toLowerCase(), first.userId, first.targetId, e);
+            intents.forEach(intent -> intent.ack.completeExceptionally(e));
+        }
+    }
+
+    // Applies the intents in one transaction; only once it has committed are callers acknowledged, caches
+    // and metrics updated and events published
+    private void write(List<VoteIntent> intents) {
+        Map<Target, List<VoteIntent>> byTarget = intents.stream()
+                .collect(Collectors.groupingBy(intent -> intent.target));
+        Map<Long, int[]> questionDeltas = new HashMap<>();
+        Map<Long, Category> categories = new HashMap<>();
+        List<PollChange> pollChanges = new ArrayList<>();
+        Map<VoteKey, VoteType[]> questionOutcomes = new HashMap<>();
+        Map<VoteKey, Integer> pollOutcomes = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            applyVotes(byTarget.getOrDefault(Target.QUESTION, List.of()), questionDeltas, questionOutcomes);
+            applyPollVotes(byTarget.getOrDefault(Target.POLL, List.of()), pollChanges, pollOutcomes);
+            categories.putAll(loadCategories(questionDeltas.keySet(), pollChanges));
+        });
+
+        intents.forEach(intent -> intent.ack.complete(null));
+        questionOutcomes.forEach((key, change) -> {
+            voteMetrics.record(VoteMetrics.Target.QUESTION, change[0], change[1]);
+            userVoteCache.recordVote(key.userId, UserVoteCache.Kind.QUESTION, key.targetId, change[1]);
+        });
+        pollOutcomes.forEach((key, optionIndex) -> userVoteCache.recordPollVote(key.userId, key.targetId, optionIndex));
+        pollChanges.forEach(change -> voteMetrics.record(VoteMetrics.Target.POLL,
+                change.previousOptionIndex < 0 ? VoteMetrics.Outcome.CAST : VoteMetrics.Outcome.CHANGED));
+        questionDeltas.forEach((questionId, delta) -> eventPublisher.publishEvent(new QuestionActivityEvent(
+                QuestionActivityEvent.Type.VOTED, questionId, categories.get(questionId), delta[0], delta[1])));
+        pollChanges.forEach(change -> eventPublisher.publishEvent(QuestionActivityEvent.pollVoted(
+                change.questionId, categories.get(change.questionId), change.optionIndex, change.previousOptionIndex)));
+    }
+
+    // Replays each key's clicks over its stored vote with the same toggle rules as the synchronous path;
+    // outcomes gets {before, after} per key (null for no vote)
+    private void applyVotes(List<VoteIntent> intents, Map<Long, int[]> deltas, Map<VoteKey, VoteType[]> outcomes) {
+        if (intents.isEmpty()) {
+            return;
+        }
+        Set<Long> targetIds = existingIds("questions", intents);
+        Map<VoteKey, List<VoteIntent>> byKey = groupByKey(intents, targetIds);
+        if (byKey.isEmpty()) {
+            return;
+        }
+
+        Map<VoteKey, StoredVote> stored = new HashMap<>();
+        jdbcTemplate.query("SELECT id, user_id, question_id, vote_type FROM votes " +
+                        "WHERE question_id IN (:targetIds) AND user_id IN (:userIds) FOR UPDATE",
+                keyParameters(byKey),
+                rs -> {
+                    stored.put(new VoteKey(rs.getLong("user_id"), rs.getLong("question_id")),
+                            new StoredVote(rs.getLong("id"), VoteType.valueOf(rs.getString("vote_type")), -1));
+                });
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<MapSqlParameterSource> upserts = new ArrayList<>();
+        List<MapSqlParameterSource> deletes = new ArrayList<>();
+        byKey.forEach((key, clicks) -> {
+            StoredVote existing = stored.get(key);
+            VoteType before = existing != null ? existing.voteType : null;
+            VoteType after = before;
+            for (VoteIntent click : clicks) {
+                after = after == click.voteType ? null : click.voteType;
+            }
+            if (before == after) {
+                return;
+            }
+            outcomes.put(key, new VoteType[] {before, after});
+            if (after == null) {
+                deletes.add(new MapSqlParameterSource("id", existing.id));
+            } else {
+                upserts.add(new MapSqlParameterSource("voteType", after.name())
+                        .addValue("userId", key.userId).addValue("targetId", key.targetId)
+                        .addValue("storedId", existing != null ? existing.id : null).addValue("now", now));
+            }
+            int[] delta = deltas.computeIfAbsent(key.targetId, id -> new int[2]);
+            delta[0] += (after == VoteType.UPVOTE ? 1 : 0) - (before == VoteType.UPVOTE ? 1 : 0);
+            delta[1] += (after == VoteType.DOWNVOTE ? 1 : 0) - (before == VoteType.DOWNVOTE ? 1 : 0);
+        });
+
+        // A row that appeared after the read matches neither branch and leaves an update count of 0
+        batchExactlyOnce("MERGE INTO votes v USING (SELECT CAST(:userId AS BIGINT) AS user_id, " +
+                "CAST(:targetId AS BIGINT) AS question_id) s " +
+                "ON v.user_id = s.user_id AND v.question_id = s.question_id " +
+                "WHEN MATCHED AND v.id = :storedId THEN UPDATE SET vote_type = :voteType " +
+                "WHEN NOT MATCHED THEN INSERT (vote_type, user_id, question_id, created_at) " +
+                "VALUES (:voteType, s.user_id, s.question_id, :now)", upserts);
+        batchExactlyOnce("DELETE FROM votes WHERE id = :id", deletes);
+        batch("UPDATE questions SET upvote_count = upvote_count + :up, " +
+                "downvote_count = downvote_count + :down WHERE id = :id",
+                deltas.entrySet().stream()
+                        .filter(e -> e.getValue()[0] != 0 || e.getValue()[1] != 0)
+                        .map(e -> new MapSqlParameterSource("id", e.getKey())
+                                .addValue("up", e.getValue()[0]).addValue("down", e.getValue()[1]))
+                        .collect(Collectors.toList()));
+    }
+
+    // Last click wins per (user, question); invalid options are dropped like the synchronous path rejects them
+    private void applyPollVotes(List<VoteIntent> intents, List<PollChange> pollChanges,
+                                Map<VoteKey, Integer> outcomes) {
+        if (intents.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> optionCounts = new HashMap<>();
+        jdbcTemplate.query("SELECT question_id, COUNT(*) AS options FROM poll_options " +
+                        "WHERE question_id IN (:ids) GROUP BY question_id",
+                new MapSqlParameterSource("ids", intents.stream().map(i -> i.targetId).collect(Collectors.toSet())),
+                rs -> {
+                    optionCounts.put(rs.getLong("question_id"), rs.getInt("options"));
+                });
+
+        Map<VoteKey, VoteIntent> latest = new LinkedHashMap<>();
+        for (VoteIntent intent : intents) {
+            if (intent.optionIndex >= 0 && intent.optionIndex < optionCounts.getOrDefault(intent.targetId, 0)) {
+                latest.put(new VoteKey(intent.userId, intent.targetId), intent);
+            }
+        }
+        if (latest.isEmpty()) {
+            return;
+        }
+
+        Map<VoteKey, StoredVote> stored = new HashMap<>();
+        jdbcTemplate.query("SELECT id, user_id, question_id, option_index FROM poll_votes " +
+                        "WHERE question_id IN (:targetIds) AND user_id IN (:userIds) FOR UPDATE",
+                keyParameters(latest),
+                rs -> {
+                    stored.put(new VoteKey(rs.getLong("user_id"), rs.getLong("question_id")),
+                            new StoredVote(rs.getLong("id"), null, rs.getInt("option_index")));
+                });
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<MapSqlParameterSource> upserts = new ArrayList<>();
+        latest.forEach((key, intent) -> {
+            StoredVote existing = stored.get(key);
+            outcomes.put(key, intent.optionIndex);
+            if (existing != null && existing.optionIndex == intent.optionIndex) {
+                return;
+            }
+            upserts.add(new MapSqlParameterSource("optionIndex", intent.optionIndex)
+                    .addValue("userId", key.userId).addValue("questionId", key.targetId)
+                    .addValue("storedId", existing != null ? existing.id : null).addValue("now", now));
+            pollChanges.add(new PollChange(key.targetId, intent.optionIndex,
+                    existing != null ? existing.optionIndex : -1));
+        });
+
+        batchExactlyOnce("MERGE INTO poll_votes v USING (SELECT CAST(:userId AS BIGINT) AS user_id, " +
+                "CAST(:questionId AS BIGINT) AS question_id) s " +
+                "ON v.user_id = s.user_id AND v.question_id = s.question_id " +
+                "WHEN MATCHED AND v.id = :storedId THEN UPDATE SET option_index = :optionIndex " +
+                "WHEN NOT MATCHED THEN INSERT (option_index, user_id, question_id, created_at) " +
+                "VALUES (:optionIndex, s.user_id, s.question_id, :now)", upserts);
+    }
+
+    private Set<Long> existingIds(String table, List<VoteIntent> intents) {
+        Set<Long> requested = intents.stream().map(i -> i.targetId).collect(Collectors.toSet());
+        return Set.copyOf(jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", requested), Long.class));
+    }
+
+    private Map<Long, Category> loadCategories(Set<Long> votedQuestions, List<PollChange> pollChanges) {
+        Set<Long> ids = new HashSet<>(votedQuestions);
+        pollChanges.forEach(change -> ids.add(change.questionId));
+        Map<Long, Category> categories = new HashMap<>();
+        if (ids.isEmpty()) {
+            return categories;
+        }
+        jdbcTemplate.query("SELECT id, category FROM questions WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    String category = rs.getString("category");
+                    categories.put(rs.getLong("id"), category != null ? Category.valueOf(category) : null);
+                });
+        return categories;
+    }
+
+    private static Map<VoteKey, List<VoteIntent>> groupByKey(List<VoteIntent> intents, Set<Long> targetIds) {
+        Map<VoteKey, List<VoteIntent>> byKey = new LinkedHashMap<>();
+        for (VoteIntent intent : intents) {
+            if (targetIds.contains(intent.targetId)) {
+                byKey.computeIfAbsent(new VoteKey(intent.userId, intent.targetId), k -> new ArrayList<>()).add(intent);
+            }
+        }
+        return byKey;
+    }
+
+    private static MapSqlParameterSource keyParameters(Map<VoteKey, ?> byKey) {
+        return new MapSqlParameterSource()
+                .addValue("targetIds", byKey.keySet().stream().map(k -> k.targetId).collect(Collectors.toSet()))
+                .addValue("userIds", byKey.keySet().stream().map(k -> k.userId).collect(Collectors.toSet()));
+    }
+
+    private void batch(String sql, List<MapSqlParameterSource> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows.toArray(new MapSqlParameterSource[0]));
+        }
+    }
+
+    // Each row must change exactly one stored vote; anything else means the state read for this window is stale
+    private void batchExactlyOnce(String sql, List<MapSqlParameterSource> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        for (int count : jdbcTemplate.batchUpdate(sql, rows.toArray(new MapSqlParameterSource[0]))) {
+            if (count == 0) {
+                throw new ConcurrentVoteException();
+            }
+        }
+    }
+
+    public static class VoteQueueFullException extends RuntimeException {
+        public VoteQueueFullException() {
+            super("Too many votes in flight, please retry");
+        }
+    }
+
+    private static class ConcurrentVoteException extends RuntimeException {
+        ConcurrentVoteException() {
+            super("A stored vote changed while its window was being written");
+        }
+    }
+
+    private static class VoteIntent {
+        private final Target target;
+        private final Long userId;
+        private final Long targetId;
+        private final VoteType voteType;
+        private final int optionIndex;
+        private final CompletableFuture<Void> ack = new CompletableFuture<>();
+
+        VoteIntent(Target target, Long userId, Long targetId, VoteType voteType, int optionIndex) {
+            this.target = target;
+            this.userId = userId;
+            this.targetId = targetId;
+            this.voteType = voteType;
+            this.optionIndex = optionIndex;
+        }
+    }
+
+    private static class VoteKey {
+        private final long userId;
+        private final long targetId;
+
+        VoteKey(long userId, long targetId) {
+            this.userId = userId;
+            this.targetId = targetId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof VoteKey)) {
+                return false;
+            }
+            VoteKey other = (VoteKey) o;
+            return userId == other.userId && targetId == other.targetId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, targetId);
+        }
+    }
+
+    private static class PollChange {
+        private final long questionId;
+        private final int optionIndex;
+        private final int previousOptionIndex;
+
+        PollChange(long questionId, int optionIndex, int previousOptionIndex) {
+            this.questionId = questionId;
+            this.optionIndex = optionIndex;
+            this.previousOptionIndex = previousOptionIndex;
+        }
+    }
+
+    private static class StoredVote {
+        private final long id;
+        private final VoteType voteType;
+        private final int optionIndex;
+
+        StoredVote(long id, VoteType voteType, int optionIndex) {
+            this.id = id;
+            this.voteType = voteType;
+            this.optionIndex = optionIndex;
+        }
+    }
+}
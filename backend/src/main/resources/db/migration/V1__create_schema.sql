@@ -0,0 +1,80 @@
+-- Tables as mapped by the JPA entities. Plain ANSI types so the same script runs on H2 and PostgreSQL.
+
+CREATE TABLE users (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username        VARCHAR(40)  NOT NULL,
+    email           VARCHAR(100) NOT NULL,
+    password        VARCHAR(100) NOT NULL,
+    anonymous_name  VARCHAR(50),
+    created_at      TIMESTAMP(6) WITH TIME ZONE,
+    updated_at      TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE user_roles (
+    user_id  BIGINT      NOT NULL,
+    roles    VARCHAR(50) NOT NULL,
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE questions (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title           VARCHAR(500) NOT NULL,
+    description     VARCHAR(2000),
+    category        VARCHAR(50),
+    image_url       VARCHAR(255),
+    user_id         BIGINT,
+    has_poll        BOOLEAN NOT NULL DEFAULT FALSE,
+    upvote_count    INTEGER NOT NULL DEFAULT 0,
+    downvote_count  INTEGER NOT NULL DEFAULT 0,
+    created_at      TIMESTAMP(6) WITH TIME ZONE,
+    updated_at      TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT fk_questions_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE poll_options (
+    question_id  BIGINT NOT NULL,
+    option_text  VARCHAR(255),
+    CONSTRAINT fk_poll_options_question FOREIGN KEY (question_id) REFERENCES questions (id)
+);
+
+CREATE TABLE comments (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    content            VARCHAR(1000) NOT NULL,
+    user_id            BIGINT,
+    question_id        BIGINT,
+    parent_comment_id  BIGINT,
+    root_comment_id    BIGINT,
+    depth              INTEGER NOT NULL DEFAULT 0,
+    reply_count        INTEGER NOT NULL DEFAULT 0,
+    upvote_count       INTEGER NOT NULL DEFAULT 0,
+    downvote_count     INTEGER NOT NULL DEFAULT 0,
+    created_at         TIMESTAMP(6) WITH TIME ZONE,
+    updated_at         TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT fk_comments_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_comments_question FOREIGN KEY (question_id) REFERENCES questions (id),
+    CONSTRAINT fk_comments_parent FOREIGN KEY (parent_comment_id) REFERENCES comments (id)
+);
+
+CREATE TABLE votes (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    vote_type    VARCHAR(20) NOT NULL,
+    user_id      BIGINT,
+    question_id  BIGINT,
+    comment_id   BIGINT,
+    created_at   TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT fk_votes_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_votes_question FOREIGN KEY (question_id) REFERENCES questions (id),
+    CONSTRAINT fk_votes_comment FOREIGN KEY (comment_id) REFERENCES comments (id)
+);
+
+CREATE TABLE poll_votes (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    option_index  INTEGER NOT NULL,
+    user_id       BIGINT,
+    question_id   BIGINT,
+    created_at    TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT fk_poll_votes_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_poll_votes_question FOREIGN KEY (question_id) REFERENCES questions (id)
+);
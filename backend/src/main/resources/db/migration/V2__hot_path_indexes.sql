@@ -0,0 +1,19 @@
+-- Keyset feeds: (created_at, id) ordering, globally, per category and per author
+CREATE INDEX idx_questions_created_at_id ON questions (created_at, id);
+CREATE INDEX idx_questions_category_created_at_id ON questions (category, created_at, id);
+CREATE INDEX idx_questions_user_created_at_id ON questions (user_id, created_at, id);
+
+-- Comment listings and threads
+CREATE INDEX idx_comments_question_created_at_id ON comments (question_id, created_at, id);
+CREATE INDEX idx_comments_question_depth_created_at_id ON comments (question_id, depth, created_at, id);
+CREATE INDEX idx_comments_root_depth ON comments (root_comment_id, depth);
+CREATE INDEX idx_comments_parent ON comments (parent_comment_id);
+CREATE INDEX idx_comments_user_created_at_id ON comments (user_id, created_at, id);
+
+-- Foreign keys walked by counter reconciliation, poll tallies and bulk deletes
+-- (PostgreSQL does not index referencing columns on its own)
+CREATE INDEX idx_votes_question ON votes (question_id);
+CREATE INDEX idx_votes_comment ON votes (comment_id);
+CREATE INDEX idx_poll_votes_question_option ON poll_votes (question_id, option_index);
+CREATE INDEX idx_poll_options_question ON poll_options (question_id);
+CREATE INDEX idx_user_roles_user ON user_roles (user_id);
@@ -0,0 +1,5 @@
+-- One vote per user and target. The backing unique indexes also serve the per-user "my votes" lookups.
+-- NULL targets never collide, so a question vote (comment_id NULL) and a comment vote share the table.
+ALTER TABLE votes ADD CONSTRAINT uk_votes_user_question UNIQUE (user_id, question_id);
+ALTER TABLE votes ADD CONSTRAINT uk_votes_user_comment UNIQUE (user_id, comment_id);
+ALTER TABLE poll_votes ADD CONSTRAINT uk_poll_votes_user_question UNIQUE (user_id, question_id);
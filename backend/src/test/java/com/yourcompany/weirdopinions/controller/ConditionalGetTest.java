@@ -0,0 +1,53 @@
+package com.yourcompany.weirdopinions.controller;
+
+import com.yourcompany.weirdopinions.model.Category;
+import com.yourcompany.weirdopinions.model.User;
+import com.yourcompany.weirdopinions.repository.UserRepository;
+import com.yourcompany.weirdopinions.service.QuestionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void feedRevalidatesByETagOnly() throws Exception {
+        User author = userRepository.save(new User("etag-author", "etag-author@example.com", "unused"));
+        String etag = mockMvc.perform(get("/api/questions/feed"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/questions/feed").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // A change within the same second as the previous response must still be seen
+        questionService.createQuestion("Ice in milk?", null, Category.WEIRD_FOOD_COMBOS, null, null, author);
+        String changed = mockMvc.perform(get("/api/questions/feed").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(etag);
+
+        mockMvc.perform(get("/api/questions/feed").header(HttpHeaders.IF_MODIFIED_SINCE, "Fri, 31 Dec 2100 23:59:59 GMT"))
+                .andExpect(status().isOk());
+    }
+}
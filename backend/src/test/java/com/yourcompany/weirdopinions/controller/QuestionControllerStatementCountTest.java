@@ -0,0 +1,140 @@
+package com.yourcompany.weirdopinions.controller;
+
+import com.yourcompany.weirdopinions.model.Category;
+import com.yourcompany.weirdopinions.model.Comment;
+import com.yourcompany.weirdopinions.model.Question;
+import com.yourcompany.weirdopinions.model.User;
+import com.yourcompany.weirdopinions.model.VoteType;
+import com.yourcompany.weirdopinions.repository.UserRepository;
+import com.yourcompany.weirdopinions.service.CommentService;
+import com.yourcompany.weirdopinions.service.QuestionService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The read endpoints load a page, a question or a comment list in a fixed number of statements: the count
+// is read from SqlStatementFilter's per-request summary and must not grow with the rows returned. Every
+// request starts from an empty second-level cache, so the counts are those of a cold read.
+@SpringBootTest
+@AutoConfigureMockMvc
+class QuestionControllerStatementCountTest {
+
+    private static final int QUESTIONS = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User author;
+    private final List<User> voters = new ArrayList<>();
+
+    @BeforeEach
+    void seedUsers() {
+        String suffix = Long.toString(System.nanoTime());
+        author = userRepository.save(new User("reader-" + suffix, "reader-" + suffix + "@example.com", "unused"));
+        voters.clear();
+        for (int i = 0; i < 5; i++) {
+            voters.add(userRepository.save(new User("voter" + i + "-" + suffix,
+                    "voter" + i + "-" + suffix + "@example.com", "unused")));
+        }
+    }
+
+    @Test
+    void feedPageTakesTheSameStatementsWhateverItsSize() throws Exception {
+        for (int i = 0; i < QUESTIONS; i++) {
+            seedQuestion(i % 3, i % 2 == 0);
+        }
+
+        long small = statements("/api/questions/feed", "/api/questions/feed?size=2");
+        long large = statements("/api/questions/feed", "/api/questions/feed?size=" + QUESTIONS);
+
+        assertThat(large).isEqualTo(small).isEqualTo(1L);
+    }
+
+    @Test
+    void questionDetailTakesTheSameStatementsWhateverItsActivity() throws Exception {
+        Long quiet = seedQuestion(0, false);
+        Long busy = seedQuestion(12, true);
+
+        long quietStatements = statements("/api/questions/{id}", "/api/questions/" + quiet);
+        long busyStatements = statements("/api/questions/{id}", "/api/questions/" + busy);
+
+        assertThat(busyStatements).isEqualTo(quietStatements).isBetween(1L, 2L);
+    }
+
+    @Test
+    void commentsTakeTheSameStatementsWhateverTheirNumber() throws Exception {
+        Long few = seedQuestion(1, false);
+        Long many = seedQuestion(20, false);
+
+        assertThat(statements("/api/questions/{id}/comments", "/api/questions/" + many + "/comments"))
+                .isEqualTo(statements("/api/questions/{id}/comments", "/api/questions/" + few + "/comments"))
+                .isBetween(1L, 2L);
+        assertThat(statements("/api/questions/{id}/comment-threads", "/api/questions/" + many + "/comment-threads"))
+                .isEqualTo(statements("/api/questions/{id}/comment-threads", "/api/questions/" + few + "/comment-threads"))
+                .isBetween(1L, 3L);
+    }
+
+    // A question with the given number of top-level comments, each with a reply and a vote per voter;
+    // the question itself gets every voter's vote, and a poll when asked
+    private Long seedQuestion(int comments, boolean poll) {
+        Question question = questionService.createQuestion("Cereal before milk?", "Settle this",
+                Category.WEIRD_FOOD_COMBOS, poll ? List.of("Cereal", "Milk") : null, null, author);
+        for (User voter : voters) {
+            questionService.voteOnQuestion(question.getId(), VoteType.UPVOTE, voter);
+            if (poll) {
+                questionService.voteOnPoll(question.getId(), 0, voter);
+            }
+        }
+        for (int i = 0; i < comments; i++) {
+            Comment comment = commentService.createComment("Comment " + i, question.getId(), author);
+            commentService.createReply("Reply " + i, comment.getId(), voters.get(i % voters.size()));
+            for (User voter : voters) {
+                commentService.voteOnComment(comment.getId(), VoteType.DOWNVOTE, voter);
+            }
+        }
+        return question.getId();
+    }
+
+    // Statements SqlStatementFilter recorded for one cold GET of the path, under its route pattern
+    private long statements(String pattern, String path) throws Exception {
+        double before = recorded(pattern);
+        entityManagerFactory.getCache().evictAll();
+        mockMvc.perform(get(path)).andExpect(status().isOk());
+        return Math.round(recorded(pattern) - before);
+    }
+
+    private double recorded(String pattern) {
+        DistributionSummary summary = meterRegistry.find("weirdopinions.http.sql.statements")
+                .tags("method", "GET", "uri", pattern)
+                .summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+}
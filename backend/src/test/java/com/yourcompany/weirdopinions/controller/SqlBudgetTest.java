@@ -0,0 +1,149 @@
+package com.yourcompany.weirdopinions.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourcompany.weirdopinions.config.SqlBudget;
+import com.yourcompany.weirdopinions.model.Comment;
+import com.yourcompany.weirdopinions.model.User;
+import com.yourcompany.weirdopinions.repository.UserRepository;
+import com.yourcompany.weirdopinions.service.CommentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Calls every question and auth endpoint with app.sql.budgetMode=FAIL, so a handler that issues more SQL
+// statements than its @SqlBudget fails the request (MockMvc rethrows SqlBudgetExceededException).
+@SpringBootTest(properties = "app.sql.budgetMode=FAIL")
+@AutoConfigureMockMvc
+class SqlBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    private String username;
+    private String token;
+
+    @BeforeEach
+    void signUpAndSignIn() throws Exception {
+        username = "budget" + System.nanoTime() % 1_000_000_000;
+        mockMvc.perform(json(post("/api/auth/signup"),
+                        "{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\","
+                                + "\"password\":\"secret123\"}"))
+                .andExpect(status().isOk());
+        JsonNode signIn = body(mockMvc.perform(json(post("/api/auth/signin"),
+                        "{\"usernameOrEmail\":\"" + username + "\",\"password\":\"secret123\"}"))
+                .andExpect(status().isOk()));
+        token = signIn.get("accessToken").asText();
+    }
+
+    @Test
+    void everyQuestionAndAuthEndpointDeclaresABudget() {
+        Set<Class<?>> controllers = Set.of(QuestionController.class, AuthController.class);
+        List<String> missing = handlerMapping.getHandlerMethods().entrySet().stream()
+                .filter(entry -> controllers.contains(entry.getValue().getBeanType()))
+                .filter(entry -> !entry.getValue().hasMethodAnnotation(SqlBudget.class))
+                .map(entry -> entry.getKey().toString())
+                .toList();
+
+        assertThat(missing).isEmpty();
+    }
+
+    @Test
+    void authEndpointsStayWithinTheirBudgets() throws Exception {
+        mockMvc.perform(get("/api/auth/check-username").param("username", username)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/auth/check-email").param("email", "nobody@example.com")).andExpect(status().isOk());
+        mockMvc.perform(json(post("/api/auth/signin"),
+                        "{\"usernameOrEmail\":\"" + username + "\",\"password\":\"wrong\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void questionEndpointsStayWithinTheirBudgets() throws Exception {
+        JsonNode created = body(mockMvc.perform(authorized(json(post("/api/questions"),
+                        "{\"title\":\"Ketchup on pasta?\",\"description\":\"Hear me out\","
+                                + "\"category\":\"WEIRD_FOOD_COMBOS\",\"pollOptions\":[\"Yes\",\"No\"]}")))
+                .andExpect(status().isOk()));
+        long id = created.get("id").asLong();
+
+        mockMvc.perform(authorized(json(post("/api/questions/" + id + "/vote"), "{\"voteType\":\"UPVOTE\"}")))
+                .andExpect(status().isOk());
+        mockMvc.perform(authorized(json(post("/api/questions/" + id + "/vote"), "{\"voteType\":\"DOWNVOTE\"}")))
+                .andExpect(status().isOk());
+        mockMvc.perform(authorized(json(post("/api/questions/" + id + "/poll-vote"), "{\"optionIndex\":1}")))
+                .andExpect(status().isOk());
+        mockMvc.perform(authorized(json(put("/api/questions/" + id),
+                        "{\"title\":\"Ketchup on pasta??\",\"description\":\"Still hear me out\"}")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/questions")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/questions/category/WEIRD_FOOD_COMBOS")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/questions/feed")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/questions/category/WEIRD_FOOD_COMBOS/feed")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/questions/trending")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/questions/category/WEIRD_FOOD_COMBOS/trending")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/questions/search").param("q", "ketchup")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/questions/search").param("q", "ketchup").param("page", "1000000000"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/questions/" + id)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/questions/" + id + "/poll-results")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/questions/" + id + "/comments")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/questions/" + id + "/comment-threads")).andExpect(status().isOk());
+        User user = userRepository.findByUsername(username).orElseThrow();
+        Comment comment = commentService.createComment("Only with parmesan", id, user);
+        commentService.createReply("Never", comment.getId(), user);
+        mockMvc.perform(get("/api/questions/" + id + "/comments/" + comment.getId() + "/replies"))
+                .andExpect(status().isOk());
+        mockMvc.perform(authorized(get("/api/questions/my-votes").param("questionIds", Long.toString(id))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/questions/stream")).andExpect(request().asyncStarted());
+        mockMvc.perform(get("/api/questions/category/WEIRD_FOOD_COMBOS/stream")).andExpect(request().asyncStarted());
+        mockMvc.perform(get("/api/questions/" + id + "/stream")).andExpect(request().asyncStarted());
+
+        mockMvc.perform(authorized(delete("/api/questions/" + id))).andExpect(status().isOk());
+    }
+
+    private MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+
+    private JsonNode body(org.springframework.test.web.servlet.ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,180 @@
+package com.yourcompany.weirdopinions.repository;
+
+import com.yourcompany.weirdopinions.config.SqlStatementCounter;
+import com.yourcompany.weirdopinions.model.Category;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// EXPLAINs the statements on the hot paths against the Flyway-migrated schema (embedded H2) and fails when
+// any of them would scan a whole table. Literals stand in for parameters, since only the shape of the
+// statement matters to the planner. Keyset pages are the SQL Hibernate generates for the repository methods,
+// captured through SqlStatementCounter, and must seek their index on created_at rather than filter on it.
+//
+// On empty tables H2 costs every index alike once a join is involved, so the class first loads a few
+// thousand rows and runs ANALYZE. ANALYZE commits, hence no test transaction and a context of its own.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final String FULL_SCAN = ".tableScan";
+    private static final Instant CURSOR_TIME = Instant.parse("2100-01-01T00:00:00Z");
+
+    // 100 users, 1,000 questions in two categories, 20,000 comments; each comment one level below the
+    // previous one in a chain of three, so depth and parent_comment_id are spread like a real thread
+    private static final List<String> POPULATE = List.of(
+            "INSERT INTO users (username, email, password) " +
+                    "SELECT 'user' || X, 'user' || X || '@example.com', 'x' FROM SYSTEM_RANGE(1, 100)",
+            "INSERT INTO questions (title, category, user_id, created_at) " +
+                    "SELECT 'question', CASEWHEN(MOD(X, 2) = 0, 'OTHER', 'HOME_LIFE'), MOD(X, 100) + 1, " +
+                    "TIMESTAMP WITH TIME ZONE '2024-01-01 00:00:00Z' + X * INTERVAL '1' MINUTE FROM SYSTEM_RANGE(1, 1000)",
+            "INSERT INTO comments (content, user_id, question_id, parent_comment_id, depth, created_at) " +
+                    "SELECT 'comment', MOD(X, 100) + 1, MOD(X / 3, 1000) + 1, " +
+                    "CASEWHEN(MOD(X, 3) = 1, NULL, X - 1), MOD(X + 2, 3), " +
+                    "TIMESTAMP WITH TIME ZONE '2024-01-01 00:00:00Z' + X * INTERVAL '1' SECOND FROM SYSTEM_RANGE(1, 20000)",
+            "ANALYZE");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @BeforeAll
+    void populate() {
+        POPULATE.forEach(jdbcTemplate::execute);
+    }
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("vote by user and question",
+                        "SELECT id FROM votes WHERE user_id = 1 AND question_id = 1"),
+                Arguments.of("vote by user and comment",
+                        "SELECT id FROM votes WHERE user_id = 1 AND comment_id = 1"),
+                Arguments.of("my votes for a page",
+                        "SELECT question_id, vote_type FROM votes WHERE user_id = 1 AND question_id IN (1, 2, 3)"),
+                Arguments.of("poll vote by user and question",
+                        "SELECT id FROM poll_votes WHERE user_id = 1 AND question_id = 1"),
+                Arguments.of("poll tally",
+                        "SELECT option_index, COUNT(*) FROM poll_votes WHERE question_id = 1 GROUP BY option_index"),
+                Arguments.of("votes of a question",
+                        "SELECT id FROM votes WHERE question_id = 1"),
+                Arguments.of("votes of a comment",
+                        "SELECT id FROM votes WHERE comment_id = 1"),
+                Arguments.of("author's questions",
+                        "SELECT id FROM questions WHERE user_id = 1 ORDER BY created_at DESC, id DESC LIMIT 10"),
+                Arguments.of("comments of a question",
+                        "SELECT id FROM comments WHERE question_id = 1 ORDER BY created_at, id"),
+                Arguments.of("thread roots",
+                        "SELECT id FROM comments WHERE question_id = 1 AND depth = 0 ORDER BY created_at, id LIMIT 10"),
+                Arguments.of("thread replies",
+                        "SELECT id FROM comments WHERE root_comment_id IN (1, 2) AND depth <= 5"),
+                Arguments.of("replies of comments",
+                        "SELECT id FROM comments WHERE parent_comment_id IN (1, 2)"),
+                Arguments.of("user by username",
+                        "SELECT id FROM users WHERE username = 'someone'"),
+                Arguments.of("user by email",
+                        "SELECT id FROM users WHERE email = 'someone@example.com'"));
+    }
+
+    // Each call, its index, and the condition the index lookup has to carry
+    static Stream<Arguments> keysetQueries() {
+        return Stream.of(
+                Arguments.of("feed page", (Consumer<QueryPlanTest>) test -> test.questionRepository
+                                .findSummariesBefore(CURSOR_TIME, 1L, PageRequest.of(0, 11)),
+                        "idx_questions_created_at_id: created_at <="),
+                Arguments.of("category feed page", (Consumer<QueryPlanTest>) test -> test.questionRepository
+                                .findSummariesByCategoryBefore(Category.OTHER, CURSOR_TIME, 1L, PageRequest.of(0, 11)),
+                        "idx_questions_category_created_at_id: category = ?1 AND created_at <="),
+                Arguments.of("author's feed page", (Consumer<QueryPlanTest>) test -> test.questionRepository
+                                .findSummariesByUserBefore(1L, CURSOR_TIME, 1L, PageRequest.of(0, 11)),
+                        "idx_questions_user_created_at_id: user_id = ?1 AND created_at <="),
+                Arguments.of("thread roots page", (Consumer<QueryPlanTest>) test -> test.commentRepository
+                                .findThreadRootsAfter(1L, CURSOR_TIME, 1L, PageRequest.of(0, 11)),
+                        "idx_comments_question_depth_created_at_id: created_at >="),
+                Arguments.of("replies of a comment page", (Consumer<QueryPlanTest>) test -> test.commentRepository
+                                .findRepliesAfter(1L, CURSOR_TIME, 1L, PageRequest.of(0, 11)),
+                        "parent_comment_id = ?1"),
+                Arguments.of("user's comments page", (Consumer<QueryPlanTest>) test -> test.commentRepository
+                                .findViewsByUserBefore(1L, CURSOR_TIME, 1L, PageRequest.of(0, 11)),
+                        "idx_comments_user_created_at_id: user_id = ?1 AND created_at <="));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryUsesAnIndex(String name, String sql) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+
+        assertThat(plan).as("plan for %s", name).doesNotContain(FULL_SCAN);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("keysetQueries")
+    void keysetPageSeeksItsIndex(String name, Consumer<QueryPlanTest> call, String indexCondition) {
+        SqlStatementCounter.Tally tally = SqlStatementCounter.begin();
+        try {
+            call.accept(this);
+        } finally {
+            SqlStatementCounter.end();
+        }
+        Set<String> statements = tally.getSql();
+        assertThat(statements).as("statements for %s", name).hasSize(1);
+
+        String plan = explain(statements.iterator().next()).replaceAll("\\s+", " ");
+
+        assertThat(plan).as("plan for %s", name).doesNotContain(FULL_SCAN).containsIgnoringCase(indexCondition);
+    }
+
+    // EXPLAINs a parameterized statement, binding a value of each parameter's inferred type
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    switch (parameters.getParameterType(i)) {
+                        case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE ->
+                                statement.setTimestamp(i, Timestamp.from(CURSOR_TIME));
+                        case Types.VARCHAR, Types.CHAR -> statement.setString(i, Category.OTHER.name());
+                        default -> statement.setLong(i, 1L);
+                    }
+                }
+                List<String> lines = new ArrayList<>();
+                try (ResultSet plan = statement.executeQuery()) {
+                    while (plan.next()) {
+                        lines.add(plan.getString(1));
+                    }
+                }
+                return String.join("\n", lines);
+            }
+        });
+    }
+}
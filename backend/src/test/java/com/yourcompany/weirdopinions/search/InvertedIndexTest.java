@@ -0,0 +1,39 @@
+package com.yourcompany.weirdopinions.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    @Test
+    void removedDocumentsDoNotCountTowardsDocumentFrequency() {
+        InvertedIndex index = new InvertedIndex();
+        index.index(1, List.of("apple"));
+        index.index(2, List.of("banana", "split"));
+        for (long id = 100; id < 110; id++) {
+            index.index(id, List.of("apple"));
+            index.remove(id);
+        }
+
+        // Counting the ten tombstones would make "apple" look common and rank the longer banana match first
+        InvertedIndex.Hits hits = index.search(List.of("apple", "banana"), 0, 10);
+
+        assertThat(hits.getQuestionIds()).containsExactly(1L, 2L);
+        assertThat(hits.getTotalHits()).isEqualTo(2);
+    }
+
+    @Test
+    void aDeepOffsetReturnsNoIdsButTheTotal() {
+        InvertedIndex index = new InvertedIndex();
+        index.index(1, List.of("apple"));
+        index.index(2, List.of("apple", "pie"));
+
+        InvertedIndex.Hits hits = index.search(List.of("apple"), Integer.MAX_VALUE - 5, 10);
+
+        assertThat(hits.getQuestionIds()).isEmpty();
+        assertThat(hits.getTotalHits()).isEqualTo(2);
+    }
+}
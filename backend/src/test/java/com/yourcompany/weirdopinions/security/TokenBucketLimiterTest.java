@@ -0,0 +1,52 @@
+package com.yourcompany.weirdopinions.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void admitsABurstThenRefillsAtTheRate() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 1, 100);
+        long now = 10 * SECOND;
+
+        assertThat(limiter.tryAcquire("client", now)).isZero();
+        assertThat(limiter.tryAcquire("client", now)).isZero();
+        assertThat(limiter.tryAcquire("client", now)).isZero();
+        assertThat(limiter.tryAcquire("client", now)).isEqualTo(SECOND);
+        assertThat(limiter.tryAcquire("client", now + SECOND)).isZero();
+        assertThat(limiter.tryAcquire("other", now)).isZero();
+    }
+
+    @Test
+    void aFloodOfNewKeysNeverThrottlesAnotherClient() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 1, 100);
+        long now = 10 * SECOND;
+        assertThat(limiter.tryAcquire("client", now)).isZero();
+
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("flood-" + i, now);
+        }
+
+        assertThat(limiter.tryAcquire("client", now)).isZero();
+        assertThat(limiter.size()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void evictsOnlyFullBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 1, 100);
+        long now = 10 * SECOND;
+        limiter.tryAcquire("idle", now - 5 * SECOND);
+        limiter.tryAcquire("busy", now);
+        limiter.tryAcquire("busy", now);
+
+        limiter.evictIdle(now);
+
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+}
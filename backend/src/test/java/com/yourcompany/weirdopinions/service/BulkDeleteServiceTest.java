@@ -0,0 +1,92 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.event.QuestionActivityEvent;
+import com.yourcompany.weirdopinions.model.Category;
+import com.yourcompany.weirdopinions.model.Comment;
+import com.yourcompany.weirdopinions.model.Question;
+import com.yourcompany.weirdopinions.model.User;
+import com.yourcompany.weirdopinions.model.VoteType;
+import com.yourcompany.weirdopinions.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@RecordApplicationEvents
+class BulkDeleteServiceTest {
+
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void deletingAUserBacksTheirActivityOutOfOtherPeoplesQuestions() {
+        User owner = userRepository.save(new User("surviving-owner", "surviving-owner@example.com", "unused"));
+        User other = userRepository.save(new User("surviving-voter", "surviving-voter@example.com", "unused"));
+        User leaving = userRepository.save(new User("leaving-user", "leaving-user@example.com", "unused"));
+        Question question = questionService.createQuestion("Ketchup on rice?", null,
+                Category.WEIRD_FOOD_COMBOS, List.of("Yes", "No"), null, owner);
+        Comment ownerComment = commentService.createComment("Never", question.getId(), owner);
+
+        questionService.voteOnQuestion(question.getId(), VoteType.UPVOTE, other);
+        questionService.voteOnQuestion(question.getId(), VoteType.UPVOTE, leaving);
+        commentService.voteOnComment(ownerComment.getId(), VoteType.DOWNVOTE, leaving);
+        questionService.voteOnPoll(question.getId(), 1, leaving);
+        Comment leavingComment = commentService.createComment("Every day", question.getId(), leaving);
+        commentService.createReply("Really?", leavingComment.getId(), owner);
+        events.clear();
+
+        bulkDeleteService.deleteUser(leaving.getId());
+
+        assertThat(count("SELECT upvote_count FROM questions WHERE id = ?", question.getId())).isEqualTo(1);
+        assertThat(count("SELECT downvote_count FROM comments WHERE id = ?", ownerComment.getId())).isZero();
+        assertThat(count("SELECT COUNT(*) FROM comments WHERE question_id = ?", question.getId())).isEqualTo(1);
+        assertThat(count("SELECT COUNT(*) FROM poll_votes WHERE question_id = ?", question.getId())).isZero();
+
+        List<QuestionActivityEvent> published = events.stream(QuestionActivityEvent.class).toList();
+        assertThat(published).allMatch(event -> event.getQuestionId().equals(question.getId()));
+        assertThat(published).filteredOn(event -> event.getType() == QuestionActivityEvent.Type.COMMENTED)
+                .singleElement().extracting(QuestionActivityEvent::getCommentDelta).isEqualTo(-2);
+        assertThat(published).filteredOn(event -> event.getType() == QuestionActivityEvent.Type.VOTED)
+                .singleElement().satisfies(event -> {
+                    assertThat(event.getUpDelta()).isEqualTo(-1);
+                    assertThat(event.getDownDelta()).isZero();
+                });
+        assertThat(published).filteredOn(event -> event.getType() == QuestionActivityEvent.Type.COMMENT_VOTED)
+                .singleElement().satisfies(event -> {
+                    assertThat(event.getCommentId()).isEqualTo(ownerComment.getId());
+                    assertThat(event.getUpDelta()).isZero();
+                    assertThat(event.getDownDelta()).isEqualTo(-1);
+                });
+        assertThat(published).filteredOn(event -> event.getType() == QuestionActivityEvent.Type.POLL_VOTED)
+                .singleElement().satisfies(event -> {
+                    assertThat(event.getOptionIndex()).isEqualTo(-1);
+                    assertThat(event.getPreviousOptionIndex()).isEqualTo(1);
+                });
+    }
+
+    private int count(String sql, Long id) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, id);
+    }
+}
@@ -0,0 +1,92 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.dto.FeedCursor;
+import com.yourcompany.weirdopinions.dto.QuestionSummary;
+import com.yourcompany.weirdopinions.event.QuestionActivityEvent;
+import com.yourcompany.weirdopinions.model.Category;
+import com.yourcompany.weirdopinions.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryFeedServiceTest {
+
+    private static final Category CATEGORY = Category.WEIRD_FOOD_COMBOS;
+
+    private final QuestionRepository questionRepository = Mockito.mock(QuestionRepository.class);
+    private final CategoryFeedService service = new CategoryFeedService();
+    private final AtomicReference<Runnable> duringReload = new AtomicReference<>(() -> { });
+    private int storedUpvotes;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "questionRepository", questionRepository);
+        ReflectionTestUtils.setField(service, "segmentSize", 10);
+        Mockito.when(questionRepository.findSummariesByCategoryBefore(ArgumentMatchers.any(),
+                        ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenAnswer(invocation -> {
+                    Category category = invocation.getArgument(0);
+                    if (category != CATEGORY) {
+                        return List.of();
+                    }
+                    List<QuestionSummary> rows = List.of(summary(storedUpvotes));
+                    duringReload.getAndSet(() -> { }).run();
+                    return rows;
+                });
+        Mockito.when(questionRepository.findSummariesByIdIn(ArgumentMatchers.anyCollection()))
+                .thenAnswer(invocation -> List.of(summary(storedUpvotes)));
+        Mockito.when(questionRepository.countByCategory(ArgumentMatchers.any()))
+                .thenAnswer(invocation -> invocation.getArgument(0) == CATEGORY ? 1L : 0L);
+        service.warmUp();
+    }
+
+    @Test
+    void eventsAlreadyInTheReloadAreNotAppliedAgain() {
+        // Committed and announced before the reload: the reloaded row already counts the vote
+        storedUpvotes = 1;
+        service.onQuestionActivity(new QuestionActivityEvent(QuestionActivityEvent.Type.VOTED, 1L, CATEGORY, 1, 0));
+        service.refresh();
+
+        assertThat(upvotes()).isEqualTo(1);
+    }
+
+    @Test
+    void changesCommittedBeforeTheQueryButAnnouncedDuringTheReloadCountOnce() {
+        // The reload query already read the vote; its event only arrives while the reload is running
+        storedUpvotes = 1;
+        duringReload.set(() -> service.onQuestionActivity(
+                new QuestionActivityEvent(QuestionActivityEvent.Type.VOTED, 1L, CATEGORY, 1, 0)));
+        service.refresh();
+
+        assertThat(upvotes()).isEqualTo(1);
+    }
+
+    @Test
+    void changesCommittedAfterTheQueryAreReadBackBeforeTheReloadIsInstalled() {
+        // Committed after the reload query read the row, announced while it is still running
+        duringReload.set(() -> {
+            storedUpvotes = 1;
+            service.onQuestionActivity(new QuestionActivityEvent(QuestionActivityEvent.Type.VOTED, 1L, CATEGORY, 1, 0));
+        });
+        service.refresh();
+
+        assertThat(upvotes()).isEqualTo(1);
+    }
+
+    private int upvotes() {
+        return service.getFeed(CATEGORY, FeedCursor.START, 10).orElseThrow().getItems().get(0).getUpvotes();
+    }
+
+    private static QuestionSummary summary(int upvotes) {
+        return new QuestionSummary(1L, "Ice in milk?", null, CATEGORY, null, "Quiet Otter", false,
+                upvotes, 0, 0, Instant.parse("2026-01-01T00:00:00Z"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.dto.CommentThread;
+import com.yourcompany.weirdopinions.dto.CommentView;
+import com.yourcompany.weirdopinions.dto.CursorPage;
+import com.yourcompany.weirdopinions.event.QuestionActivityEvent;
+import com.yourcompany.weirdopinions.model.Category;
+import com.yourcompany.weirdopinions.model.Comment;
+import com.yourcompany.weirdopinions.model.Question;
+import com.yourcompany.weirdopinions.model.User;
+import com.yourcompany.weirdopinions.model.VoteType;
+import com.yourcompany.weirdopinions.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@RecordApplicationEvents
+class CommentServiceTest {
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void deletingACommentPublishesMinusTheSizeOfItsThread() {
+        User author = userRepository.save(new User("thread-author", "thread-author@example.com", "unused"));
+        Question question = questionService.createQuestion("Socks in sandals?", null,
+                Category.FASHION_CHOICES, null, null, author);
+        Comment root = commentService.createComment("Only in winter", question.getId(), author);
+        Comment reply = commentService.createReply("Wool ones", root.getId(), author);
+        commentService.createReply("Obviously", reply.getId(), author);
+        events.clear();
+
+        commentService.deleteComment(root.getId(), author);
+
+        List<QuestionActivityEvent> published = events.stream(QuestionActivityEvent.class).toList();
+        assertThat(published).hasSize(1);
+        assertThat(published.get(0).getType()).isEqualTo(QuestionActivityEvent.Type.COMMENTED);
+        assertThat(published.get(0).getQuestionId()).isEqualTo(question.getId());
+        assertThat(published.get(0).getCommentDelta()).isEqualTo(-3);
+    }
+
+    @Test
+    void votingOnACommentPublishesItsDeltas() {
+        User author = userRepository.save(new User("voted-author", "voted-author@example.com", "unused"));
+        User voter = userRepository.save(new User("comment-voter", "comment-voter@example.com", "unused"));
+        Question question = questionService.createQuestion("Pineapple on pizza?", null,
+                Category.WEIRD_FOOD_COMBOS, null, null, author);
+        Comment comment = commentService.createComment("Yes, with jalapeños", question.getId(), author);
+        events.clear();
+
+        commentService.voteOnComment(comment.getId(), VoteType.UPVOTE, voter);
+        commentService.voteOnComment(comment.getId(), VoteType.DOWNVOTE, voter);
+
+        assertThat(events.stream(QuestionActivityEvent.class).toList())
+                .allSatisfy(event -> {
+                    assertThat(event.getType()).isEqualTo(QuestionActivityEvent.Type.COMMENT_VOTED);
+                    assertThat(event.getQuestionId()).isEqualTo(question.getId());
+                    assertThat(event.getCommentId()).isEqualTo(comment.getId());
+                })
+                .extracting(QuestionActivityEvent::getUpDelta, QuestionActivityEvent::getDownDelta)
+                .containsExactly(tuple(1, 0), tuple(-1, 1));
+    }
+
+    @Test
+    void threadsStopAtTheReplyLimitAndContinueFromTheCursor() {
+        User author = userRepository.save(new User("busy-thread-author", "busy-thread-author@example.com", "unused"));
+        Question question = questionService.createQuestion("Pineapple on pizza?", null,
+                Category.WEIRD_FOOD_COMBOS, null, null, author);
+        Comment root = commentService.createComment("Yes", question.getId(), author);
+        List<Long> replyIds = new ArrayList<>();
+        for (int i = 0; i < 51; i++) {
+            replyIds.add(commentService.createReply("Agreed " + i, root.getId(), author).getId());
+        }
+        commentService.createReply("Nested", replyIds.get(0), author);
+
+        CommentThread thread = commentService.getCommentThreads(question.getId(), null, 10, 2).getItems().get(0);
+
+        // 50 per thread, shallowest first: the 51st direct reply and the nested one are left out
+        assertThat(thread.getReplies()).hasSize(50);
+        assertThat(thread.isHasMoreReplies()).isTrue();
+        CommentThread first = thread.getReplies().get(0);
+        assertThat(first.getComment().getId()).isEqualTo(replyIds.get(0));
+        assertThat(first.getReplies()).isEmpty();
+        assertThat(first.isHasMoreReplies()).isTrue();
+        assertThat(first.getRepliesCursor()).isNull();
+        assertThat(thread.getReplies().get(49).isHasMoreReplies()).isFalse();
+
+        CursorPage<CommentView> rest = commentService.getReplies(root.getId(), thread.getRepliesCursor(), 20);
+        assertThat(rest.getItems()).extracting(CommentView::getId).containsExactly(replyIds.get(50));
+        assertThat(rest.getNextCursor()).isNull();
+    }
+}
@@ -0,0 +1,27 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.model.Category;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LiveUpdateServiceTest {
+
+    @Test
+    void refusesSubscribersPastTheCap() {
+        LiveUpdateService service = new LiveUpdateService();
+        ReflectionTestUtils.setField(service, "maxSubscribers", 2);
+        ReflectionTestUtils.setField(service, "emitterTimeoutMs", 60_000L);
+
+        service.subscribeToFeed(null);
+        service.subscribeToQuestion(1L);
+
+        assertThatThrownBy(() -> service.subscribeToFeed(Category.WEIRD_FOOD_COMBOS))
+                .isInstanceOf(LiveUpdateService.TooManySubscribersException.class);
+        assertThatThrownBy(() -> service.subscribeToQuestion(2L))
+                .isInstanceOf(LiveUpdateService.TooManySubscribersException.class);
+        assertThat(service.subscriberCount()).isEqualTo(2);
+    }
+}
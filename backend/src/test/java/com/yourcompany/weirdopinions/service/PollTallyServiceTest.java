@@ -0,0 +1,42 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.repository.PollOptionRow;
+import com.yourcompany.weirdopinions.repository.PollVoteRepository;
+import com.yourcompany.weirdopinions.repository.QuestionRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PollTallyServiceTest {
+
+    @Test
+    void holdsAtMostMaxTalliesPolls() {
+        PollOptionRow option = new PollOptionRow() {
+            public Long getQuestionId() { return 1L; }
+            public String getOptionText() { return "Yes"; }
+        };
+        QuestionRepository questionRepository = Mockito.mock(QuestionRepository.class);
+        Mockito.when(questionRepository.findPollOptionRows(ArgumentMatchers.anyCollection())).thenReturn(List.of(option));
+        PollVoteRepository pollVoteRepository = Mockito.mock(PollVoteRepository.class);
+        Mockito.when(pollVoteRepository.countVotesByOption(ArgumentMatchers.anyLong())).thenReturn(List.of());
+
+        PollTallyService service = new PollTallyService();
+        ReflectionTestUtils.setField(service, "questionRepository", questionRepository);
+        ReflectionTestUtils.setField(service, "pollVoteRepository", pollVoteRepository);
+        ReflectionTestUtils.setField(service, "tallyTtlMs", 60_000L);
+        ReflectionTestUtils.setField(service, "maxTallies", 100);
+        ReflectionTestUtils.invokeMethod(service, "init");
+
+        for (long questionId = 1; questionId <= 10_000; questionId++) {
+            assertThat(service.getResults(questionId)).isNotNull();
+        }
+        ReflectionTestUtils.invokeMethod(ReflectionTestUtils.getField(service, "tallies"), "cleanUp");
+
+        assertThat(service.size()).isLessThanOrEqualTo(100);
+    }
+}
@@ -0,0 +1,95 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.config.SqlStatementCounter;
+import com.yourcompany.weirdopinions.model.Category;
+import com.yourcompany.weirdopinions.model.Comment;
+import com.yourcompany.weirdopinions.model.Question;
+import com.yourcompany.weirdopinions.model.User;
+import com.yourcompany.weirdopinions.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Deleting a question removes its votes, poll votes and comment threads with set-based statements, so the
+// statement count does not depend on how much activity the question collected.
+@SpringBootTest
+class QuestionDeleteStatementCountTest {
+
+    private static final int VOTES = 100_000;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void deletingAQuestionWithOneHundredThousandVotesTakesAFixedNumberOfStatements() {
+        User owner = userRepository.save(new User("delete-owner", "delete-owner@example.com", "unused"));
+        jdbcTemplate.update("INSERT INTO users (username, email, password) " +
+                "SELECT 'delete-voter' || X, 'delete-voter' || X || '@example.com', 'unused' " +
+                "FROM SYSTEM_RANGE(1, ?)", VOTES);
+
+        Long quiet = seedQuestion(owner, 10);
+        Long popular = seedQuestion(owner, VOTES);
+        assertThat(countRows("SELECT COUNT(*) FROM votes WHERE question_id = ?", popular)).isEqualTo(VOTES);
+
+        int quietStatements = countStatements(() -> questionService.deleteQuestion(quiet, owner));
+        int popularStatements = countStatements(() -> questionService.deleteQuestion(popular, owner));
+
+        assertThat(popularStatements).isEqualTo(quietStatements).isLessThanOrEqualTo(20);
+        assertThat(countRows("SELECT COUNT(*) FROM questions WHERE id = ?", popular)).isZero();
+        assertThat(countRows("SELECT COUNT(*) FROM votes WHERE question_id = ?", popular)).isZero();
+        assertThat(countRows("SELECT COUNT(*) FROM comments WHERE question_id = ?", popular)).isZero();
+    }
+
+    // A poll question with a two-level comment thread; the first `votes` seeded voters vote on the
+    // question, its poll and the top-level comment
+    private Long seedQuestion(User owner, int votes) {
+        Question question = questionService.createQuestion("Pineapple on toast?", "Asking for a friend",
+                Category.WEIRD_FOOD_COMBOS, List.of("Yes", "No"), null, owner);
+        Comment comment = commentService.createComment("Only with cheese", question.getId(), owner);
+        commentService.createReply("Which cheese?", comment.getId(), owner);
+
+        String voters = "SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS n FROM users WHERE username LIKE 'delete-voter%'";
+        jdbcTemplate.update("INSERT INTO votes (vote_type, user_id, question_id) " +
+                "SELECT CASE WHEN MOD(n, 4) = 0 THEN 'DOWNVOTE' ELSE 'UPVOTE' END, id, ? " +
+                "FROM (" + voters + ") WHERE n <= ?", question.getId(), votes);
+        jdbcTemplate.update("INSERT INTO votes (vote_type, user_id, comment_id) " +
+                "SELECT 'UPVOTE', id, ? FROM (" + voters + ") WHERE n <= ?", comment.getId(), votes);
+        jdbcTemplate.update("INSERT INTO poll_votes (option_index, user_id, question_id) " +
+                "SELECT MOD(n, 2), id, ? FROM (" + voters + ") WHERE n <= ?", question.getId(), votes);
+        return question.getId();
+    }
+
+    // Starts from an empty second-level cache, so both deletes load the question from the database
+    private int countStatements(Runnable action) {
+        entityManagerFactory.getCache().evictAll();
+        SqlStatementCounter.Tally tally = SqlStatementCounter.begin();
+        try {
+            action.run();
+        } finally {
+            SqlStatementCounter.end();
+        }
+        return tally.getTotal();
+    }
+
+    private long countRows(String sql, Long id) {
+        return jdbcTemplate.queryForObject(sql, Long.class, id);
+    }
+}
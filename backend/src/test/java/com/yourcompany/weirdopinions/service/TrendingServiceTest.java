@@ -0,0 +1,62 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.dto.QuestionSummary;
+import com.yourcompany.weirdopinions.event.QuestionActivityEvent;
+import com.yourcompany.weirdopinions.model.Category;
+import com.yourcompany.weirdopinions.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrendingServiceTest {
+
+    private static final Category CATEGORY = Category.WEIRD_FOOD_COMBOS;
+
+    private final QuestionRepository questionRepository = Mockito.mock(QuestionRepository.class);
+    private final TrendingService service = new TrendingService();
+    private int storedUpvotes;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "questionRepository", questionRepository);
+        ReflectionTestUtils.setField(service, "size", 10);
+        ReflectionTestUtils.setField(service, "maxTracked", 100);
+        ReflectionTestUtils.setField(service, "halfLifeHours", 6.0);
+        Mockito.when(questionRepository.findTrendingSeeds(ArgumentMatchers.any())).thenReturn(List.of());
+        Mockito.when(questionRepository.findSummariesByIdIn(ArgumentMatchers.anyCollection()))
+                .thenAnswer(invocation -> List.of(new QuestionSummary(1L, "Ice in milk?", null, CATEGORY, null,
+                        "Quiet Otter", false, storedUpvotes, 0, 0, Instant.parse("2026-01-01T00:00:00Z"))));
+        service.warmUp();
+        service.onQuestionActivity(QuestionActivityEvent.of(QuestionActivityEvent.Type.CREATED, 1L, CATEGORY));
+        service.rebalance();
+    }
+
+    @Test
+    void rebalancingUnchangedListsKeepsTheVersion() {
+        long version = service.getVersion();
+
+        service.rebalance();
+        service.rebalance();
+
+        assertThat(service.getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    void aChangedCountPublishesANewVersion() {
+        long version = service.getVersion();
+        storedUpvotes = 1;
+        service.onQuestionActivity(new QuestionActivityEvent(QuestionActivityEvent.Type.VOTED, 1L, CATEGORY, 1, 0));
+
+        service.rebalance();
+
+        assertThat(service.getVersion()).isGreaterThan(version);
+        assertThat(service.getTrending()).singleElement().extracting(QuestionSummary::getUpvotes).isEqualTo(1);
+    }
+}
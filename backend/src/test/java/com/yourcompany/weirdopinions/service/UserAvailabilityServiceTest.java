@@ -0,0 +1,69 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The signup's users row is never in the rebuild scan here, as if it was still uncommitted when the scan read
+class UserAvailabilityServiceTest {
+
+    private final UserRepository userRepository = Mockito.mock(UserRepository.class);
+    private final UserAvailabilityService service = new UserAvailabilityService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "minExpectedUsers", 1000L);
+        ReflectionTestUtils.setField(service, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(service, "rebuildBatchSize", 100);
+        Mockito.when(userRepository.existsByUsername(ArgumentMatchers.any())).thenReturn(true);
+        Mockito.when(userRepository.findUserKeysAfter(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(List.of());
+        service.warmUp();
+    }
+
+    @Test
+    void aSignupCommittedAfterARebuildIsInTheNewFilters() {
+        Runnable commit = inTransaction(() -> service.register("Quiet Otter", "otter@example.com"));
+
+        service.rebuild();
+        commit.run();
+
+        assertThat(service.isUsernameTaken("quiet otter")).isTrue();
+    }
+
+    @Test
+    void aSignupCommittedDuringARebuildIsInTheNewFilters() {
+        Runnable commit = inTransaction(() -> service.register("Loud Heron", "heron@example.com"));
+        Mockito.when(userRepository.findUserKeysAfter(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenAnswer(invocation -> {
+                    commit.run();
+                    return List.of();
+                });
+
+        service.rebuild();
+
+        assertThat(service.isUsernameTaken("loud heron")).isTrue();
+    }
+
+    // Runs work inside an open transaction and returns what its commit would run afterwards
+    private static Runnable inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            return () -> synchronizations.forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
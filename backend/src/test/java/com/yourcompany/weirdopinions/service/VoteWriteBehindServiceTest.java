@@ -0,0 +1,144 @@
+package com.yourcompany.weirdopinions.service;
+
+import com.yourcompany.weirdopinions.event.QuestionActivityEvent;
+import com.yourcompany.weirdopinions.model.Category;
+import com.yourcompany.weirdopinions.model.Question;
+import com.yourcompany.weirdopinions.model.User;
+import com.yourcompany.weirdopinions.model.VoteType;
+import com.yourcompany.weirdopinions.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The flusher thread sleeps for the whole test; each test drives its windows through flushQueued
+@SpringBootTest(properties = {
+        "app.votes.writeBehind.enabled=true",
+        "app.votes.writeBehind.ackMode=ENQUEUE",
+        "app.votes.writeBehind.flushIntervalMs=3600000"})
+@RecordApplicationEvents
+class VoteWriteBehindServiceTest {
+
+    @Autowired
+    private VoteWriteBehindService voteWriteBehindService;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void clicksInOneWindowCoalesceToTheirNetVote() {
+        User owner = user("coalesce-owner");
+        User flipper = user("coalesce-flipper");
+        User undecided = user("coalesce-undecided");
+        Question question = question(owner, null);
+
+        voteWriteBehindService.submitQuestionVote(flipper.getId(), question.getId(), VoteType.UPVOTE);
+        voteWriteBehindService.submitQuestionVote(flipper.getId(), question.getId(), VoteType.UPVOTE);
+        voteWriteBehindService.submitQuestionVote(flipper.getId(), question.getId(), VoteType.DOWNVOTE);
+        voteWriteBehindService.submitQuestionVote(undecided.getId(), question.getId(), VoteType.UPVOTE);
+        voteWriteBehindService.submitQuestionVote(undecided.getId(), question.getId(), VoteType.UPVOTE);
+        voteWriteBehindService.flushQueued();
+
+        assertThat(storedVotes(question)).containsExactly("DOWNVOTE");
+        assertThat(counter("upvote_count", question)).isZero();
+        assertThat(counter("downvote_count", question)).isEqualTo(1);
+        assertThat(published(QuestionActivityEvent.Type.VOTED)).singleElement().satisfies(event -> {
+            assertThat(event.getUpDelta()).isZero();
+            assertThat(event.getDownDelta()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void theLastPollClickInAWindowWins() {
+        User owner = user("poll-owner");
+        User voter = user("poll-voter");
+        Question question = question(owner, List.of("Yes", "No", "Maybe"));
+
+        voteWriteBehindService.submitPollVote(voter.getId(), question.getId(), 1);
+        voteWriteBehindService.submitPollVote(voter.getId(), question.getId(), 7);
+        voteWriteBehindService.submitPollVote(voter.getId(), question.getId(), 2);
+        voteWriteBehindService.flushQueued();
+
+        assertThat(jdbcTemplate.queryForList("SELECT option_index FROM poll_votes WHERE question_id = ?",
+                Integer.class, question.getId())).containsExactly(2);
+        assertThat(published(QuestionActivityEvent.Type.POLL_VOTED)).singleElement().satisfies(event -> {
+            assertThat(event.getOptionIndex()).isEqualTo(2);
+            assertThat(event.getPreviousOptionIndex()).isEqualTo(-1);
+        });
+    }
+
+    @Test
+    void aFailingVoteOnlyLosesItsOwnKey() {
+        User owner = user("failure-owner");
+        User voter = user("failure-voter");
+        Question question = question(owner, null);
+
+        // No such user: the insert breaks fk_votes_user and fails the window
+        voteWriteBehindService.submitQuestionVote(-1L, question.getId(), VoteType.UPVOTE);
+        voteWriteBehindService.submitQuestionVote(voter.getId(), question.getId(), VoteType.UPVOTE);
+        voteWriteBehindService.flushQueued();
+
+        assertThat(storedVotes(question)).containsExactly("UPVOTE");
+        assertThat(counter("upvote_count", question)).isEqualTo(1);
+        assertThat(published(QuestionActivityEvent.Type.VOTED)).singleElement()
+                .extracting(QuestionActivityEvent::getUpDelta).isEqualTo(1);
+    }
+
+    @Test
+    void aStoredVoteIsSwitchedInPlace() {
+        User owner = user("switch-owner");
+        User voter = user("switch-voter");
+        Question question = question(owner, null);
+        questionService.voteOnQuestion(question.getId(), VoteType.UPVOTE, voter);
+        Long storedId = jdbcTemplate.queryForObject("SELECT id FROM votes WHERE question_id = ?",
+                Long.class, question.getId());
+
+        voteWriteBehindService.submitQuestionVote(voter.getId(), question.getId(), VoteType.DOWNVOTE);
+        voteWriteBehindService.flushQueued();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT vote_type FROM votes WHERE id = ?", String.class, storedId))
+                .isEqualTo("DOWNVOTE");
+        assertThat(counter("upvote_count", question)).isZero();
+        assertThat(counter("downvote_count", question)).isEqualTo(1);
+    }
+
+    private User user(String name) {
+        return userRepository.save(new User(name, name + "@example.com", "unused"));
+    }
+
+    private Question question(User owner, List<String> pollOptions) {
+        Question question = questionService.createQuestion("Milk before cereal?", null,
+                Category.WEIRD_FOOD_COMBOS, pollOptions, null, owner);
+        events.clear();
+        return question;
+    }
+
+    private List<String> storedVotes(Question question) {
+        return jdbcTemplate.queryForList("SELECT vote_type FROM votes WHERE question_id = ?",
+                String.class, question.getId());
+    }
+
+    private int counter(String column, Question question) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM questions WHERE id = ?",
+                Integer.class, question.getId());
+    }
+
+    private List<QuestionActivityEvent> published(QuestionActivityEvent.Type type) {
+        return events.stream(QuestionActivityEvent.class).filter(event -> event.getType() == type).toList();
+    }
+}